@@ -3,27 +3,41 @@ import api from '../services/api';
 import { Layout } from '../components/Layout';
 import styles from '../styles';
 
+const PAGE_SIZE = 50;
+
 export default function UserManagement() {
     const [users, setUsers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [filters, setFilters] = useState({ blocked: '', verified: '' });
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState(null);
 
     // Role Management Modal State
     const [selectedUser, setSelectedUser] = useState(null);
     const [userRoles, setUserRoles] = useState([]);
     const [allRoles, setAllRoles] = useState([]);
-    const [roleLoading, setRoleLoading] = useState(false);
     const [roleError, setRoleError] = useState(null);
 
     useEffect(() => {
         loadUsers();
+    }, [filters]);
+
+    // The role catalogue is the same for every user, so fetch it once
+    useEffect(() => {
+        api.roles.getAllRoles()
+            .then(res => { if (res.success) setAllRoles(res.data.roles); })
+            .catch(() => setRoleError("Failed to load roles"));
     }, []);
 
-    const loadUsers = async () => {
+    // Loads the first page, or appends the page after `after`; each user comes with its roles
+    const loadUsers = async (after = null) => {
+        if (after) setLoadingMore(true);
         try {
-            const response = await api.users.getAll();
+            const response = await api.users.getAllWithRoles({ ...filters, after, size: PAGE_SIZE });
             if (response.success) {
-                setUsers(response.data);
+                setUsers(prev => after ? [...prev, ...response.data.users] : response.data.users);
+                setNextCursor(response.data.nextCursor);
             } else {
                 setError(response.message);
             }
@@ -31,9 +45,15 @@ export default function UserManagement() {
             setError('Failed to load users');
         } finally {
             setLoading(false);
+            setLoadingMore(false);
         }
     };
 
+    const updateFilter = (name, value) => {
+        setLoading(true);
+        setFilters(prev => ({ ...prev, [name]: value }));
+    };
+
     const handleBlock = async (userId, isBlocked) => {
         try {
             const action = isBlocked ? api.users.unblock : api.users.block;
@@ -44,22 +64,17 @@ export default function UserManagement() {
         }
     };
 
-    const openRoleModal = async (user) => {
+    const openRoleModal = (user) => {
         setSelectedUser(user);
-        setRoleLoading(true);
-        setRoleError(null);
-        try {
-            const [rolesRes, allRolesRes] = await Promise.all([
-                api.roles.getUserRoles(user.id),
-                api.roles.getAllRoles()
-            ]);
+        setUserRoles(user.roles || []);
+    };
 
-            if (rolesRes.success) setUserRoles(rolesRes.data.roles);
-            if (allRolesRes.success) setAllRoles(allRolesRes.data.roles);
-        } catch (err) {
-            setRoleError("Failed to load roles");
-        } finally {
-            setRoleLoading(false);
+    // Re-reads one user's roles after a change and updates both the modal and the table row
+    const refreshUserRoles = async (userId) => {
+        const rolesRes = await api.roles.getUserRoles(userId);
+        if (rolesRes.success) {
+            setUserRoles(rolesRes.data.roles);
+            setUsers(prev => prev.map(u => u.id === userId ? { ...u, roles: rolesRes.data.roles } : u));
         }
     };
 
@@ -73,9 +88,7 @@ export default function UserManagement() {
         try {
             const res = await api.roles.assignRole(selectedUser.id, roleName);
             if (res.success) {
-                // Refresh user roles
-                const rolesRes = await api.roles.getUserRoles(selectedUser.id);
-                if (rolesRes.success) setUserRoles(rolesRes.data.roles);
+                await refreshUserRoles(selectedUser.id);
             } else {
                 alert(res.message);
             }
@@ -90,9 +103,7 @@ export default function UserManagement() {
         try {
             const res = await api.roles.revokeRole(selectedUser.id, roleName);
             if (res.success) {
-                // Refresh user roles
-                const rolesRes = await api.roles.getUserRoles(selectedUser.id);
-                if (rolesRes.success) setUserRoles(rolesRes.data.roles);
+                await refreshUserRoles(selectedUser.id);
             } else {
                 alert(res.message);
             }
@@ -119,6 +130,33 @@ export default function UserManagement() {
                     </div>
                 )}
 
+                <div style={{ display: 'flex', gap: '12px', marginBottom: '16px', alignItems: 'center' }}>
+                    <select
+                        style={{ ...styles.input, width: 'auto' }}
+                        value={filters.blocked}
+                        onChange={(e) => updateFilter('blocked', e.target.value)}
+                    >
+                        <option value="">All statuses</option>
+                        <option value="false">Active</option>
+                        <option value="true">Blocked</option>
+                    </select>
+                    <select
+                        style={{ ...styles.input, width: 'auto' }}
+                        value={filters.verified}
+                        onChange={(e) => updateFilter('verified', e.target.value)}
+                    >
+                        <option value="">Verified or not</option>
+                        <option value="true">Verified</option>
+                        <option value="false">Unverified</option>
+                    </select>
+                    <a
+                        href={api.users.exportUrl(filters)}
+                        style={{ ...styles.btn, background: '#e2e8f0', color: '#475569', textDecoration: 'none' }}
+                    >
+                        Export NDJSON
+                    </a>
+                </div>
+
                 <div style={styles.card}>
                     {loading ? (
                         <div>Loading users...</div>
@@ -131,6 +169,7 @@ export default function UserManagement() {
                                     <th style={styles.th}>Email</th>
                                     <th style={styles.th}>Verified</th>
                                     <th style={styles.th}>Status</th>
+                                    <th style={styles.th}>Roles</th>
                                     <th style={styles.th}>Actions</th>
                                 </tr>
                             </thead>
@@ -148,6 +187,9 @@ export default function UserManagement() {
                                                 {user.blocked ? 'Blocked' : 'Active'}
                                             </span>
                                         </td>
+                                        <td style={styles.td} title={(user.roles || []).flatMap(r => r.permissions).join(', ')}>
+                                            {(user.roles || []).map(r => r.name).join(', ') || '—'}
+                                        </td>
                                         <td style={styles.td}>
                                             <div style={{ display: 'flex', gap: '8px' }}>
                                                 <button
@@ -180,6 +222,17 @@ export default function UserManagement() {
                             </tbody>
                         </table>
                     )}
+                    {!loading && nextCursor && (
+                        <div style={{ marginTop: '16px', textAlign: 'center' }}>
+                            <button
+                                onClick={() => loadUsers(nextCursor)}
+                                disabled={loadingMore}
+                                style={{ ...styles.btn, background: '#f1f5f9', color: '#475569' }}
+                            >
+                                {loadingMore ? 'Loading...' : 'Load more'}
+                            </button>
+                        </div>
+                    )}
                 </div>
 
                 {/* Role Management Modal */}
@@ -198,53 +251,52 @@ export default function UserManagement() {
                                 <button onClick={closeRoleModal} style={{ background: 'none', border: 'none', fontSize: '34px', cursor: 'pointer', color:"black" }}>×</button>
                             </div>
 
-                            {roleLoading ? (
-                                <div>Loading roles...</div>
-                            ) : (
+                            {roleError && (
+                                <div style={styles.alertError}>{roleError}</div>
+                            )}
+                            <div>
+                                <div style={{ marginBottom: '20px' }}>
+                                    <h3 style={{ fontSize: '14px', color: '#64748b', marginBottom: '10px' }}>Current Roles</h3>
+                                    <div style={{ display: 'flex', flexWrap: 'wrap', gap: '8px' }}>
+                                        {userRoles.length === 0 && <div style={{ color: '#94a3b8', fontStyle: 'italic' }}>No roles assigned</div>}
+                                        {userRoles.map(role => (
+                                            <div key={role.name} style={{
+                                                background: '#eff6ff', color: '#1d4ed8', padding: '4px 12px',
+                                                borderRadius: '16px', fontSize: '14px', display: 'flex', alignItems: 'center', gap: '8px'
+                                            }}>
+                                                {role.name}
+                                                <span
+                                                    onClick={() => handleRevokeRole(role.name)}
+                                                    style={{ cursor: 'pointer', fontWeight: 'bold' }}
+                                                    title="Remove role"
+                                                >
+                                                    ×
+                                                </span>
+                                            </div>
+                                        ))}
+                                    </div>
+                                </div>
+
                                 <div>
-                                    <div style={{ marginBottom: '20px' }}>
-                                        <h3 style={{ fontSize: '14px', color: '#64748b', marginBottom: '10px' }}>Current Roles</h3>
-                                        <div style={{ display: 'flex', flexWrap: 'wrap', gap: '8px' }}>
-                                            {userRoles.length === 0 && <div style={{ color: '#94a3b8', fontStyle: 'italic' }}>No roles assigned</div>}
-                                            {userRoles.map(role => (
-                                                <div key={role.name} style={{
-                                                    background: '#eff6ff', color: '#1d4ed8', padding: '4px 12px',
-                                                    borderRadius: '16px', fontSize: '14px', display: 'flex', alignItems: 'center', gap: '8px'
-                                                }}>
+                                    <h3 style={{ fontSize: '14px', color: '#64748b', marginBottom: '10px' }}>Add Role</h3>
+                                    <div style={{ display: 'flex', gap: '8px' }}>
+                                        <select
+                                            style={{ ...styles.input, flex: 1 }}
+                                            onChange={(e) => {
+                                                if (e.target.value) handleAssignRole(e.target.value);
+                                                e.target.value = ""; // Reset select
+                                            }}
+                                        >
+                                            <option value="">Select a role to assign...</option>
+                                            {availableRolesToAdd.map(role => (
+                                                <option key={role.name} value={role.name}>
                                                     {role.name}
-                                                    <span
-                                                        onClick={() => handleRevokeRole(role.name)}
-                                                        style={{ cursor: 'pointer', fontWeight: 'bold' }}
-                                                        title="Remove role"
-                                                    >
-                                                        ×
-                                                    </span>
-                                                </div>
+                                                </option>
                                             ))}
-                                        </div>
-                                    </div>
-
-                                    <div>
-                                        <h3 style={{ fontSize: '14px', color: '#64748b', marginBottom: '10px' }}>Add Role</h3>
-                                        <div style={{ display: 'flex', gap: '8px' }}>
-                                            <select
-                                                style={{ ...styles.input, flex: 1 }}
-                                                onChange={(e) => {
-                                                    if (e.target.value) handleAssignRole(e.target.value);
-                                                    e.target.value = ""; // Reset select
-                                                }}
-                                            >
-                                                <option value="">Select a role to assign...</option>
-                                                {availableRolesToAdd.map(role => (
-                                                    <option key={role.name} value={role.name}>
-                                                        {role.name}
-                                                    </option>
-                                                ))}
-                                            </select>
-                                        </div>
+                                        </select>
                                     </div>
                                 </div>
-                            )}
+                            </div>
 
                             <div style={{ marginTop: '24px', textAlign: 'right' }}>
                                 <button onClick={closeRoleModal} style={{ ...styles.btn, background: '#f1f5f9', color: '#475569' }}>
@@ -2,6 +2,14 @@ import axios from 'axios';
 
 const API_BASE = '/api';
 
+// "?a=1&b=2" from the non-empty params, or "" if there are none
+const toQuery = (params) => {
+    const query = new URLSearchParams(
+        Object.entries(params).filter(([, value]) => value !== undefined && value !== null && value !== '')
+    ).toString();
+    return query ? `?${query}` : '';
+};
+
 const api = {
     async request(endpoint, options = {}) {
         const response = await fetch(`${API_BASE}${endpoint}`, {
@@ -49,7 +57,9 @@ const api = {
     },
 
     users: {
-        getAll: () => api.request('/users/all'),
+        getAll: (params = {}) => api.request(`/users/all${toQuery(params)}`),
+        getAllWithRoles: (params = {}) => api.request(`/users/with-roles${toQuery(params)}`),
+        exportUrl: (params = {}) => `${API_BASE}/users/export${toQuery(params)}`,
         block: (id) => api.request(`/users/${id}/block`, { method: 'POST' }),
         unblock: (id) => api.request(`/users/${id}/unblock`, { method: 'POST' }),
     },
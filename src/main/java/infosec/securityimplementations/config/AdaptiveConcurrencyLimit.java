@@ -0,0 +1,171 @@
+package infosec.securityimplementations.config;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency.
+ * Completed requests are sampled in windows; at the end of each window the average
+ * latency is compared with a slow-moving baseline. While latency stays within
+ * tolerance of the baseline the limit grows by about its square root, and shrinks
+ * in proportion as latency inflates (gradient). A window with failed requests cuts
+ * the limit multiplicatively instead (AIMD back-off). A window in which fewer than
+ * half the permits were in use leaves the limit unchanged, so idle periods cannot
+ * inflate it.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    // The baseline follows the window averages with this weight, about a minute at 100 ms windows
+    private static final double BASELINE_WEIGHT = 1.0 / 600;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private volatile double limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Current window, rolled over by whichever completing request finds it due
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private volatile long windowStart;
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowDrops = new LongAdder();
+    private final LongAccumulator windowPeakInFlight = new LongAccumulator(Math::max, 0);
+
+    // Only written while holding windowLock
+    private volatile double baselineRttNanos;
+    private volatile double lastRttNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos, long startNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.windowStart = startNanos;
+    }
+
+    /**
+     * Take a permit if fewer requests than the current limit are in flight
+     */
+    public boolean tryAcquire() {
+        int permits = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= permits) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeakInFlight.accumulate(current + 1);
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Count a request turned away before asking for a permit
+     */
+    public void reject() {
+        shed.increment();
+    }
+
+    /**
+     * Return a permit and record how long the request took and whether it failed
+     */
+    public void release(long rttNanos, boolean failed, long nowNanos) {
+        inFlight.decrementAndGet();
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        if (failed) {
+            windowDrops.increment();
+            dropped.increment();
+        }
+        if (nowNanos - windowStart >= windowNanos && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && windowLock.tryLock()) {
+            try {
+                rollWindow(nowNanos);
+            } finally {
+                windowLock.unlock();
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * All permits are taken
+     */
+    public boolean isSaturated() {
+        return inFlight.get() >= limit();
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "limit", limit(),
+                "inFlight", inFlight.get(),
+                "accepted", accepted.sum(),
+                "shed", shed.sum(),
+                "failed", dropped.sum(),
+                "baselineRttMicros", (long) (baselineRttNanos / 1000),
+                "lastRttMicros", (long) (lastRttNanos / 1000));
+    }
+
+    private void rollWindow(long nowNanos) {
+        if (nowNanos - windowStart < windowNanos) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        if (samples == 0) {
+            return;
+        }
+        double rtt = (double) windowRttNanos.sumThenReset() / samples;
+        long drops = windowDrops.sumThenReset();
+        long peak = windowPeakInFlight.getThenReset();
+        windowPeakInFlight.accumulate(inFlight.get());
+        windowStart = nowNanos;
+        lastRttNanos = rtt;
+
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rtt;
+        } else {
+            baselineRttNanos += (rtt - baselineRttNanos) * BASELINE_WEIGHT;
+            // Let the baseline catch up quickly once a slow period is over
+            if (baselineRttNanos / rtt > 2) {
+                baselineRttNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        double next;
+        if (drops > 0) {
+            next = current * BACKOFF_RATIO;
+        } else if (peak < current / 2) {
+            return;
+        } else {
+            double gradient = Math.clamp(RTT_TOLERANCE * baselineRttNanos / rtt, MIN_GRADIENT, 1.0);
+            double target = current * gradient + Math.sqrt(current);
+            next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        }
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+}
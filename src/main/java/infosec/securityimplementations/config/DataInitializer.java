@@ -10,14 +10,20 @@ import infosec.securityimplementations.repository.RolePermissionRepository;
 import infosec.securityimplementations.repository.RoleRepository;
 import infosec.securityimplementations.repository.UserRepository;
 import infosec.securityimplementations.repository.UserRoleRepository;
+import infosec.securityimplementations.service.AuthorizationChangedEvent;
 import infosec.securityimplementations.service.PasswordService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Initialize default roles, permissions, and test users
@@ -33,6 +39,7 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
     private final PasswordService passwordService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void run(String... args) {
@@ -50,6 +57,9 @@ public class DataInitializer implements CommandLineRunner {
         // Create test users for each role
         createTestUsers();
 
+        // Seeded roles and mappings invalidate any compiled authorization index
+        eventPublisher.publishEvent(AuthorizationChangedEvent.global());
+
         log.info("Data initialization complete!");
     }
 
@@ -161,61 +171,70 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void mapRolePermissions() {
+        // Collected and saved in one go so the inserts go out as a JDBC batch
+        List<RolePermission> mappings = new ArrayList<>();
+        Map<Long, Set<Long>> mapped = new HashMap<>();
+
         // ADMIN gets all permissions
         Role adminRole = roleRepository.findByName("ADMIN").orElse(null);
         if (adminRole != null) {
             List<Permission> allPermissions = permissionRepository.findAll();
             for (Permission permission : allPermissions) {
-                if (rolePermissionRepository.findByRoleId(adminRole.getId()).stream()
-                        .noneMatch(rp -> rp.getPermissionId().equals(permission.getId()))) {
-                    rolePermissionRepository.save(RolePermission.builder()
-                            .roleId(adminRole.getId())
-                            .permissionId(permission.getId())
-                            .build());
-                }
+                addMapping(mappings, mapped, adminRole, permission);
             }
         }
 
         // MANAGER gets document read/write permissions
         Role managerRole = roleRepository.findByName("MANAGER").orElse(null);
         if (managerRole != null) {
-            assignPermissionToRole(managerRole, "READ_DOCUMENTS");
-            assignPermissionToRole(managerRole, "WRITE_DOCUMENTS");
+            assignPermissionToRole(mappings, mapped, managerRole, "READ_DOCUMENTS");
+            assignPermissionToRole(mappings, mapped, managerRole, "WRITE_DOCUMENTS");
         }
 
         // USER gets document read permission
         Role userRole = roleRepository.findByName("USER").orElse(null);
         if (userRole != null) {
             // Permissions removed to enforce JIT access testing
-            // assignPermissionToRole(userRole, "READ_DOCUMENTS");
+            // assignPermissionToRole(mappings, mapped, userRole, "READ_DOCUMENTS");
         }
 
         // DOCUMENT_VIEWER gets read permission
         Role viewerRole = roleRepository.findByName("DOCUMENT_VIEWER").orElse(null);
         if (viewerRole != null) {
-            assignPermissionToRole(viewerRole, "READ_DOCUMENTS");
+            assignPermissionToRole(mappings, mapped, viewerRole, "READ_DOCUMENTS");
         }
 
         // DOCUMENT_EDITOR gets read and write permissions
         Role editorRole = roleRepository.findByName("DOCUMENT_EDITOR").orElse(null);
         if (editorRole != null) {
-            assignPermissionToRole(editorRole, "READ_DOCUMENTS");
-            assignPermissionToRole(editorRole, "WRITE_DOCUMENTS");
+            assignPermissionToRole(mappings, mapped, editorRole, "READ_DOCUMENTS");
+            assignPermissionToRole(mappings, mapped, editorRole, "WRITE_DOCUMENTS");
         }
 
-        log.info("Role-permission mappings created");
+        if (!mappings.isEmpty()) {
+            rolePermissionRepository.saveAll(mappings);
+        }
+        log.info("Role-permission mappings created ({} new)", mappings.size());
     }
 
-    private void assignPermissionToRole(Role role, String permissionName) {
-        Permission permission = permissionRepository.findByName(permissionName).orElse(null);
-        if (permission != null) {
-            if (rolePermissionRepository.findByRoleId(role.getId()).stream()
-                    .noneMatch(rp -> rp.getPermissionId().equals(permission.getId()))) {
-                rolePermissionRepository.save(RolePermission.builder()
-                        .roleId(role.getId())
-                        .permissionId(permission.getId())
-                        .build());
-            }
+    private void assignPermissionToRole(List<RolePermission> mappings, Map<Long, Set<Long>> mapped,
+                                        Role role, String permissionName) {
+        permissionRepository.findByName(permissionName)
+                .ifPresent(permission -> addMapping(mappings, mapped, role, permission));
+    }
+
+    /**
+     * Queue a role-permission mapping unless it already exists
+     */
+    private void addMapping(List<RolePermission> mappings, Map<Long, Set<Long>> mapped,
+                            Role role, Permission permission) {
+        Set<Long> existing = mapped.computeIfAbsent(role.getId(),
+                roleId -> new HashSet<>(rolePermissionRepository.findPermissionIdsByRoleId(roleId)));
+        if (existing.add(permission.getId())) {
+            mappings.add(RolePermission.builder()
+                    .roleId(role.getId())
+                    .permissionId(permission.getId())
+                    .build());
         }
     }
 
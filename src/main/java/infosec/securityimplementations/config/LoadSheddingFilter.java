@@ -0,0 +1,152 @@
+package infosec.securityimplementations.config;
+
+import infosec.securityimplementations.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load with 503 before it reaches the request threads' connection pool.
+ * Each route class has its own {@link AdaptiveConcurrencyLimit}, driven by the latency
+ * and failures of the requests it admits. Session checks (/api/auth/me) and resource
+ * reads take priority: while their class is saturated, auth traffic (login, register
+ * and the rest of the sign-in flow) is turned away even if its own limit has room.
+ * Other reads, such as the admin listings, and writes each have their own class, so
+ * they cannot crowd out the priority class. Reports, exports and preflight requests
+ * are not limited.
+ * <p>
+ * Off unless concurrency.limit.enabled is set. A shed response runs through the same
+ * CORS configuration MVC would have applied, so browsers can read the 503.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        AUTH,
+        AUTHZ_READ,
+        ADMIN_READ,
+        ADMIN_WRITE
+    }
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final byte[] busyBody;
+    private final Map<RouteClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RouteClass.class);
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public LoadSheddingFilter(JsonMapper jsonMapper,
+                              @Qualifier("mvcHandlerMappingIntrospector") CorsConfigurationSource corsConfigurationSource,
+                              @Value("${concurrency.limit.enabled:false}") boolean enabled,
+                              @Value("${concurrency.limit.initial:20}") int initialLimit,
+                              @Value("${concurrency.limit.min:4}") int minLimit,
+                              @Value("${concurrency.limit.max:200}") int maxLimit,
+                              @Value("${concurrency.limit.window-ms:100}") long windowMillis,
+                              @Value("${concurrency.limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.busyBody = jsonMapper.writeValueAsBytes(ApiResponse.error("Server is busy, please retry shortly"));
+        long now = System.nanoTime();
+        for (RouteClass routeClass : RouteClass.values()) {
+            limits.put(routeClass, new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                    TimeUnit.MILLISECONDS.toNanos(windowMillis), now));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass routeClass = classify(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (routeClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.get(routeClass);
+        if (routeClass == RouteClass.AUTH && limits.get(RouteClass.AUTHZ_READ).isSaturated()) {
+            limit.reject();
+            shed(request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            shed(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            long now = System.nanoTime();
+            limit.release(now - start, failed, now);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        limits.forEach((routeClass, limit) -> stats.put(routeClass.name(), limit.getStats()));
+        return stats;
+    }
+
+    /**
+     * Route class of an API call, or null for calls that are not limited
+     */
+    static RouteClass classify(String method, String path) {
+        if (!path.startsWith("/api/") || "OPTIONS".equals(method)) {
+            return null;
+        }
+        if (path.equals("/api/auth/me") || path.startsWith("/api/resources/")) {
+            return RouteClass.AUTHZ_READ;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return RouteClass.AUTH;
+        }
+        if (path.startsWith("/api/reports/") || path.equals("/api/users/export")) {
+            return null;
+        }
+        return "GET".equals(method) ? RouteClass.ADMIN_READ : RouteClass.ADMIN_WRITE;
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            // Origin not allowed; the processor has already answered 403
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(busyBody.length);
+        response.getOutputStream().write(busyBody);
+    }
+}
@@ -1,18 +1,28 @@
 package infosec.securityimplementations.config;
 
+import infosec.securityimplementations.security.AuthContextArgumentResolver;
+import infosec.securityimplementations.security.AuthContextInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Web configuration - CORS and other settings
  * No Spring Security auto-configuration
  */
 @Configuration
 @EnableScheduling
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AuthContextInterceptor authContextInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -22,4 +32,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(authContextInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthContextArgumentResolver());
+    }
 }
@@ -0,0 +1,34 @@
+package infosec.securityimplementations.controller;
+
+import infosec.securityimplementations.dto.ApiResponse;
+import infosec.securityimplementations.security.AccessDeniedException;
+import infosec.securityimplementations.security.AuthenticationRequiredException;
+import infosec.securityimplementations.service.HashingCapacityExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions raised outside the controllers' own result handling to API responses
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(AuthenticationRequiredException.class)
+    public ResponseEntity<ApiResponse<Void>> handleAuthenticationRequired(AuthenticationRequiredException e) {
+        return ResponseEntity.status(401).body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(403).body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHashingCapacityExceeded(HashingCapacityExceededException e) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage()));
+    }
+}
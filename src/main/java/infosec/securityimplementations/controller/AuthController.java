@@ -1,6 +1,10 @@
 package infosec.securityimplementations.controller;
 
 import infosec.securityimplementations.dto.*;
+import infosec.securityimplementations.dto.AuthResults.CurrentUser;
+import infosec.securityimplementations.dto.AuthResults.PasswordVerified;
+import infosec.securityimplementations.dto.AuthResults.Registration;
+import infosec.securityimplementations.dto.AuthResults.SessionGrant;
 import infosec.securityimplementations.service.AuthenticationService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -27,18 +31,15 @@ public class AuthController {
      * Manual validation and password hashing
      */
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> register(
+    public ResponseEntity<ApiResponse<Registration>> register(
             @Valid @RequestBody RegisterRequest request) {
 
-        Map<String, Object> result = authenticationService.register(request);
+        ServiceResult<Registration> result = authenticationService.register(request);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success(
-                    (String) result.get("message"),
-                    result));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -49,13 +50,12 @@ public class AuthController {
     public ResponseEntity<ApiResponse<Void>> verifyEmail(
             @Valid @RequestBody VerifyEmailRequest request) {
 
-        Map<String, Object> result = authenticationService.verifyEmail(request);
+        ServiceResult<Void> result = authenticationService.verifyEmail(request);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -71,13 +71,12 @@ public class AuthController {
             return ResponseEntity.badRequest().body(ApiResponse.error("Email is required"));
         }
 
-        Map<String, Object> result = authenticationService.resendVerificationCode(email);
+        ServiceResult<Void> result = authenticationService.resendVerificationCode(email);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -86,18 +85,15 @@ public class AuthController {
      * Manual credential verification
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> login(
+    public ResponseEntity<ApiResponse<PasswordVerified>> login(
             @Valid @RequestBody LoginRequest request) {
 
-        Map<String, Object> result = authenticationService.login(request);
+        ServiceResult<PasswordVerified> result = authenticationService.login(request);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success(
-                    (String) result.get("message"),
-                    result));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -106,27 +102,23 @@ public class AuthController {
      * Manual 2FA verification and session creation
      */
     @PostMapping("/verify-2fa")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> verify2FA(
+    public ResponseEntity<ApiResponse<SessionGrant>> verify2FA(
             @Valid @RequestBody Verify2FARequest request,
             HttpServletResponse response) {
 
-        Map<String, Object> result = authenticationService.verify2FA(request);
+        ServiceResult<SessionGrant> result = authenticationService.verify2FA(request);
 
-        if ((boolean) result.get("success")) {
+        if (result instanceof ServiceResult.Success<SessionGrant> granted) {
             // Set HTTP-only cookie with session token
-            String sessionToken = (String) result.get("sessionToken");
-            Cookie cookie = new Cookie("SESSION_TOKEN", sessionToken);
+            Cookie cookie = new Cookie("SESSION_TOKEN", granted.data().sessionToken());
             cookie.setHttpOnly(true);
             cookie.setPath("/");
             cookie.setMaxAge(30 * 60); // 30 minutes
             response.addCookie(cookie);
 
-            return ResponseEntity.ok(ApiResponse.success(
-                    (String) result.get("message"),
-                    result));
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -157,20 +149,19 @@ public class AuthController {
      * Requires valid session
      */
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getCurrentUser(
+    public ResponseEntity<ApiResponse<CurrentUser>> getCurrentUser(
             @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
 
         if (sessionToken == null) {
             return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
         }
 
-        Map<String, Object> result = authenticationService.getCurrentUser(sessionToken);
+        ServiceResult<CurrentUser> result = authenticationService.getCurrentUser(sessionToken);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success("User info retrieved", result));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.status(401).body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.status(401).body(ApiResponse.from(result));
         }
     }
 }
@@ -1,16 +1,19 @@
 package infosec.securityimplementations.controller;
 
+import infosec.securityimplementations.dto.AccessResults.AccessList;
+import infosec.securityimplementations.dto.AccessResults.AccessRequested;
+import infosec.securityimplementations.dto.AccessResults.PendingRequests;
+import infosec.securityimplementations.dto.AccessResults.ResourceAccessStatus;
 import infosec.securityimplementations.dto.ApiResponse;
 import infosec.securityimplementations.dto.JitAccessRequest;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.security.AuthContext;
 import infosec.securityimplementations.service.JitAccessService;
-import infosec.securityimplementations.service.SessionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 /**
  * Just-in-Time Access Controller
  */
@@ -21,34 +24,21 @@ import java.util.Map;
 public class JitAccessController {
 
     private final JitAccessService jitAccessService;
-    private final SessionService sessionService;
 
     /**
      * Request temporary access to a resource
      */
     @PostMapping("/request")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> requestAccess(
+    public ResponseEntity<ApiResponse<AccessRequested>> requestAccess(
             @Valid @RequestBody JitAccessRequest request,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = jitAccessService.requestAccess(userId, request);
+        ServiceResult<AccessRequested> result = jitAccessService.requestAccess(auth, request);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success(
-                    (String) result.get("message"),
-                    result));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -56,20 +46,11 @@ public class JitAccessController {
      * Check access status for a specific resource
      */
     @GetMapping("/status/{resourceId}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> checkStatus(
+    public ResponseEntity<ApiResponse<ResourceAccessStatus>> checkStatus(
             @PathVariable String resourceId,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
+            AuthContext auth) {
 
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
-
-        Map<String, Object> result = jitAccessService.checkAccessStatus(userId, resourceId);
+        ResourceAccessStatus result = jitAccessService.checkAccessStatus(auth.userId(), resourceId);
         return ResponseEntity.ok(ApiResponse.success("Status retrieved", result));
     }
 
@@ -79,24 +60,14 @@ public class JitAccessController {
     @PostMapping("/revoke/{accessId}")
     public ResponseEntity<ApiResponse<Void>> revokeAccess(
             @PathVariable Long accessId,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
+            AuthContext auth) {
 
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+        ServiceResult<Void> result = jitAccessService.revokeAccess(accessId, auth);
 
-        Map<String, Object> result = jitAccessService.revokeAccess(accessId, userId);
-
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -104,19 +75,9 @@ public class JitAccessController {
      * Get all temporary access grants for current user
      */
     @GetMapping("/my-access")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getMyAccess(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
+    public ResponseEntity<ApiResponse<AccessList>> getMyAccess(AuthContext auth) {
 
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
-
-        Map<String, Object> result = jitAccessService.getUserAccess(userId);
+        AccessList result = jitAccessService.getUserAccess(auth.userId());
         return ResponseEntity.ok(ApiResponse.success("Access list retrieved", result));
     }
 
@@ -124,25 +85,14 @@ public class JitAccessController {
      * Get pending requests (Admin only)
      */
     @GetMapping("/pending")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getPendingRequests(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
+    public ResponseEntity<ApiResponse<PendingRequests>> getPendingRequests(AuthContext auth) {
 
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
+        ServiceResult<PendingRequests> result = jitAccessService.getPendingRequests(auth);
 
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
-
-        Map<String, Object> result = jitAccessService.getPendingRequests(userId);
-
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success("Pending requests retrieved", result));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.status(403).body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.status(403).body(ApiResponse.from(result));
         }
     }
 
@@ -152,24 +102,14 @@ public class JitAccessController {
     @PostMapping("/approve/{accessId}")
     public ResponseEntity<ApiResponse<Void>> approveAccess(
             @PathVariable Long accessId,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = jitAccessService.approveRequest(accessId, userId);
+        ServiceResult<Void> result = jitAccessService.approveRequest(accessId, auth);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -179,24 +119,14 @@ public class JitAccessController {
     @PostMapping("/reject/{accessId}")
     public ResponseEntity<ApiResponse<Void>> rejectAccess(
             @PathVariable Long accessId,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = jitAccessService.rejectRequest(accessId, userId);
+        ServiceResult<Void> result = jitAccessService.rejectRequest(accessId, auth);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 }
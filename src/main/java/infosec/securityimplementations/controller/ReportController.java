@@ -1,8 +1,18 @@
 package infosec.securityimplementations.controller;
 
+import infosec.securityimplementations.config.LoadSheddingFilter;
 import infosec.securityimplementations.dto.ApiResponse;
 import infosec.securityimplementations.repository.TemporaryAccessRepository;
 import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.security.AuthContext;
+import infosec.securityimplementations.service.AccessExpiryScheduler;
+import infosec.securityimplementations.service.AuthorizationService;
+import infosec.securityimplementations.service.MailDispatcher;
+import infosec.securityimplementations.service.MailOutbox;
+import infosec.securityimplementations.service.PasswordService;
+import infosec.securityimplementations.service.RetentionService;
+import infosec.securityimplementations.service.RoleCatalog;
+import infosec.securityimplementations.service.VerificationService;
 import infosec.securityimplementations.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,14 +30,18 @@ public class ReportController {
     private final UserRepository userRepository;
     private final TemporaryAccessRepository temporaryAccessRepository;
     private final SessionService sessionService;
+    private final AuthorizationService authorizationService;
+    private final AccessExpiryScheduler accessExpiryScheduler;
+    private final PasswordService passwordService;
+    private final MailDispatcher mailDispatcher;
+    private final MailOutbox mailOutbox;
+    private final VerificationService verificationService;
+    private final RetentionService retentionService;
+    private final RoleCatalog roleCatalog;
+    private final LoadSheddingFilter loadSheddingFilter;
 
     @GetMapping("/stats")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getStats(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionService.validateSession(sessionToken).isEmpty()) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStats(AuthContext auth) {
 
         long totalUsers = userRepository.count();
         long totalAccessRequests = temporaryAccessRepository.count();
@@ -40,4 +54,31 @@ public class ReportController {
 
         return ResponseEntity.ok(ApiResponse.success("Stats retrieved", stats));
     }
+
+    /**
+     * Runtime cache and throughput counters (Admin only)
+     */
+    @GetMapping("/performance")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPerformance(AuthContext auth) {
+
+        if (!auth.hasRole("ADMIN")) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied. Admin role required."));
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("sessionCache", sessionService.getCacheStats());
+        metrics.put("sessionRevocations", sessionService.getRevocationListSize());
+        metrics.put("authorizationIndex", authorizationService.getIndexStats());
+        metrics.put("decisionCache", authorizationService.getDecisionCacheStats());
+        metrics.put("accessExpiry", accessExpiryScheduler.getStats());
+        metrics.put("passwordHashing", passwordService.getHashingStats());
+        metrics.put("mailDelivery", mailDispatcher.getStats());
+        metrics.put("mailOutbox", mailOutbox.getStats());
+        metrics.put("verificationCodes", verificationService.getCodeStoreStats());
+        metrics.put("retention", retentionService.getStats());
+        metrics.put("roleCatalog", roleCatalog.getStats());
+        metrics.put("concurrencyLimits", loadSheddingFilter.getStats());
+
+        return ResponseEntity.ok(ApiResponse.success("Performance metrics retrieved", metrics));
+    }
 }
@@ -1,12 +1,18 @@
 package infosec.securityimplementations.controller;
 
+import infosec.securityimplementations.dto.AccessCheck;
+import infosec.securityimplementations.dto.AccessCheckResult;
 import infosec.securityimplementations.dto.ApiResponse;
+import infosec.securityimplementations.dto.BatchAccessCheckRequest;
+import infosec.securityimplementations.security.AuthContext;
 import infosec.securityimplementations.service.AuthorizationService;
-import infosec.securityimplementations.service.SessionService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,27 +24,16 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class ResourceController {
 
-    private final SessionService sessionService;
     private final AuthorizationService authorizationService;
 
     /**
      * Admin-only resource
      */
     @GetMapping("/admin")
-    public ResponseEntity<ApiResponse<Map<String, String>>> adminResource(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+    public ResponseEntity<ApiResponse<Map<String, String>>> adminResource(AuthContext auth) {
 
         // Manual authorization check
-        if (!authorizationService.hasRole(userId, "ADMIN")) {
+        if (!auth.hasRole("ADMIN")) {
             return ResponseEntity.status(403).body(ApiResponse.error(
                     "Access denied. Admin role required."));
         }
@@ -52,20 +47,10 @@ public class ResourceController {
      * Manager-level resource
      */
     @GetMapping("/manager")
-    public ResponseEntity<ApiResponse<Map<String, String>>> managerResource(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+    public ResponseEntity<ApiResponse<Map<String, String>>> managerResource(AuthContext auth) {
 
         // Manual authorization check with role hierarchy
-        if (!authorizationService.hasOrganizationalRoleLevel(userId, "MANAGER")) {
+        if (!auth.hasOrganizationalRoleLevel("MANAGER")) {
             return ResponseEntity.status(403).body(ApiResponse.error(
                     "Access denied. Manager role or higher required."));
         }
@@ -79,20 +64,10 @@ public class ResourceController {
      * User-level resource
      */
     @GetMapping("/user")
-    public ResponseEntity<ApiResponse<Map<String, String>>> userResource(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+    public ResponseEntity<ApiResponse<Map<String, String>>> userResource(AuthContext auth) {
 
         // Manual authorization check
-        if (!authorizationService.hasOrganizationalRoleLevel(userId, "USER")) {
+        if (!auth.hasOrganizationalRoleLevel("USER")) {
             return ResponseEntity.status(403).body(ApiResponse.error(
                     "Access denied. User role required."));
         }
@@ -108,20 +83,11 @@ public class ResourceController {
     @GetMapping("/document/{id}")
     public ResponseEntity<ApiResponse<Map<String, String>>> documentResource(
             @PathVariable String id,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long userId = sessionService.validateSession(sessionToken).orElse(null);
-        if (userId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
         // Manual authorization check - check permission or JIT access
-        boolean hasPermission = authorizationService.hasResourcePermission(userId, "DOCUMENT", "READ");
-        boolean hasJitAccess = authorizationService.hasTemporaryAccess(userId, id);
+        boolean hasPermission = auth.hasResourcePermission("DOCUMENT", "READ");
+        boolean hasJitAccess = !hasPermission && authorizationService.canAccess(auth, "DOCUMENT", "READ", id);
 
         if (!hasPermission && !hasJitAccess) {
             return ResponseEntity.status(403).body(ApiResponse.error(
@@ -137,4 +103,33 @@ public class ResourceController {
                         "data", "Document content for ID: " + id,
                         "accessType", accessType)));
     }
+
+    /**
+     * Evaluate many access checks for one user in a single call
+     */
+    @PostMapping("/check-batch")
+    public ResponseEntity<ApiResponse<List<AccessCheckResult>>> checkBatch(
+            @Valid @RequestBody BatchAccessCheckRequest request,
+            AuthContext auth) {
+
+        Long userId = request.getUserId() != null ? request.getUserId() : auth.userId();
+
+        // Only admins may evaluate access on behalf of other users
+        if (!userId.equals(auth.userId()) && !auth.hasRole("ADMIN")) {
+            return ResponseEntity.status(403).body(ApiResponse.error(
+                    "Access denied. Admin role required to check other users."));
+        }
+
+        List<AccessCheck> checks = request.getChecks();
+        List<Boolean> decisions = authorizationService.canAccessAll(userId, checks);
+
+        List<AccessCheckResult> results = new ArrayList<>(checks.size());
+        for (int i = 0; i < checks.size(); i++) {
+            AccessCheck check = checks.get(i);
+            results.add(new AccessCheckResult(
+                    check.getResource(), check.getAction(), check.getResourceId(), decisions.get(i)));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Access checks evaluated", results));
+    }
 }
@@ -1,14 +1,17 @@
 package infosec.securityimplementations.controller;
 
 import infosec.securityimplementations.dto.ApiResponse;
+import infosec.securityimplementations.dto.RoleList;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.security.AuthContext;
+import infosec.securityimplementations.service.RoleCatalog;
 import infosec.securityimplementations.service.RoleService;
-import infosec.securityimplementations.service.SessionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/roles")
 @RequiredArgsConstructor
@@ -16,7 +19,7 @@ import java.util.Map;
 public class RoleController {
 
     private final RoleService roleService;
-    private final SessionService sessionService;
+    private final RoleCatalog roleCatalog;
 
     /**
      * Assign a role to a user (admin only)
@@ -25,24 +28,14 @@ public class RoleController {
     public ResponseEntity<ApiResponse<Void>> assignRole(
             @RequestParam Long userId,
             @RequestParam String roleName,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long requestingUserId = sessionService.validateSession(sessionToken).orElse(null);
-        if (requestingUserId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = roleService.assignRole(userId, roleName, requestingUserId);
+        ServiceResult<Void> result = roleService.assignRole(userId, roleName, auth);
 
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -53,24 +46,14 @@ public class RoleController {
     public ResponseEntity<ApiResponse<Void>> revokeRole(
             @RequestParam Long userId,
             @RequestParam String roleName,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
+            AuthContext auth) {
 
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        Long requestingUserId = sessionService.validateSession(sessionToken).orElse(null);
-        if (requestingUserId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+        ServiceResult<Void> result = roleService.revokeRole(userId, roleName, auth);
 
-        Map<String, Object> result = roleService.revokeRole(userId, roleName, requestingUserId);
-
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error(
-                    (String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
@@ -78,38 +61,26 @@ public class RoleController {
      * Get roles for a user
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getUserRoles(
+    public ResponseEntity<ApiResponse<RoleList>> getUserRoles(
             @PathVariable Long userId,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
+            AuthContext auth) {
 
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        if (sessionService.validateSession(sessionToken).isEmpty()) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
-
-        Map<String, Object> result = roleService.getUserRoles(userId);
+        RoleList result = roleService.getUserRoles(userId);
         return ResponseEntity.ok(ApiResponse.success("Roles retrieved", result));
     }
 
     /**
-     * Get all available roles
+     * Get all available roles. Served from the pre-serialized catalogue; a matching
+     * If-None-Match is answered with 304 and no body.
      */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllRoles(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        if (sessionToken == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Not authenticated"));
-        }
-
-        if (sessionService.validateSession(sessionToken).isEmpty()) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
-
-        Map<String, Object> result = roleService.getAllRoles();
-        return ResponseEntity.ok(ApiResponse.success("Roles retrieved", result));
+    public ResponseEntity<byte[]> getAllRoles(AuthContext auth) {
+
+        RoleCatalog.Snapshot catalog = roleCatalog.get();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.body());
     }
 }
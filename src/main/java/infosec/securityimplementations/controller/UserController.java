@@ -1,15 +1,18 @@
 package infosec.securityimplementations.controller;
 
 import infosec.securityimplementations.dto.ApiResponse;
-import infosec.securityimplementations.entity.User;
-import infosec.securityimplementations.service.SessionService;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.dto.UserPage;
+import infosec.securityimplementations.dto.UserWithRolesPage;
+import infosec.securityimplementations.security.AccessDeniedException;
+import infosec.securityimplementations.security.AuthContext;
 import infosec.securityimplementations.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-import java.util.Map;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,52 +21,85 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
-    private final SessionService sessionService;
 
+    /**
+     * Keyset-paginated user listing; pass the returned nextCursor as "after" for the next page
+     */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<User>>> getAllUsers(
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
+    public ResponseEntity<ApiResponse<UserPage>> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) Boolean verified,
+            AuthContext auth) {
+
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved",
+                userService.getUsers(after, size, blocked, verified)));
+    }
+
+    /**
+     * Keyset-paginated user listing with each user's roles and permissions resolved
+     * server-side, so the admin page needs no request per user
+     */
+    @GetMapping("/with-roles")
+    public ResponseEntity<ApiResponse<UserWithRolesPage>> getUsersWithRoles(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) Boolean verified,
+            AuthContext auth) {
 
-        if (sessionService.validateSession(sessionToken).isEmpty()) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
+        if (!auth.hasRole("ADMIN")) {
+            throw new AccessDeniedException("Access denied. Admin role required.");
         }
 
-        return ResponseEntity.ok(ApiResponse.success("Users retrieved", userService.getAllUsers()));
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved",
+                userService.getUsersWithRoles(after, size, blocked, verified)));
+    }
+
+    /**
+     * Every matching user as newline-delimited JSON, streamed from a database cursor
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) Boolean verified,
+            AuthContext auth) {
+
+        if (!auth.hasRole("ADMIN")) {
+            throw new AccessDeniedException("Access denied. Admin role required.");
+        }
+
+        StreamingResponseBody body = out -> userService.exportUsers(out, blocked, verified);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .body(body);
     }
 
     @PostMapping("/{id}/block")
     public ResponseEntity<ApiResponse<Void>> blockUser(
             @PathVariable Long id,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        Long adminId = sessionService.validateSession(sessionToken).orElse(null);
-        if (adminId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = userService.blockUser(id, adminId);
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        ServiceResult<Void> result = userService.blockUser(id, auth);
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error((String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 
     @PostMapping("/{id}/unblock")
     public ResponseEntity<ApiResponse<Void>> unblockUser(
             @PathVariable Long id,
-            @CookieValue(value = "SESSION_TOKEN", required = false) String sessionToken) {
-
-        Long adminId = sessionService.validateSession(sessionToken).orElse(null);
-        if (adminId == null) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid session"));
-        }
+            AuthContext auth) {
 
-        Map<String, Object> result = userService.unblockUser(id, adminId);
-        if ((boolean) result.get("success")) {
-            return ResponseEntity.ok(ApiResponse.success((String) result.get("message")));
+        ServiceResult<Void> result = userService.unblockUser(id, auth);
+        if (result.success()) {
+            return ResponseEntity.ok(ApiResponse.from(result));
         } else {
-            return ResponseEntity.badRequest().body(ApiResponse.error((String) result.get("message")));
+            return ResponseEntity.badRequest().body(ApiResponse.from(result));
         }
     }
 }
@@ -0,0 +1,20 @@
+package infosec.securityimplementations.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessCheck {
+
+    @NotBlank(message = "Resource is required")
+    private String resource;
+
+    @NotBlank(message = "Action is required")
+    private String action;
+
+    private String resourceId;
+}
@@ -0,0 +1,16 @@
+package infosec.securityimplementations.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessCheckResult {
+
+    private String resource;
+    private String action;
+    private String resourceId;
+    private boolean allowed;
+}
@@ -0,0 +1,33 @@
+package infosec.securityimplementations.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import infosec.securityimplementations.entity.AccessStatus;
+import infosec.securityimplementations.entity.TemporaryAccess;
+
+import java.util.List;
+
+/**
+ * Payloads of the just-in-time access operations
+ */
+public final class AccessResults {
+
+    private AccessResults() {
+    }
+
+    public record AccessRequested(Access access) {
+
+        public record Access(Long id, String resourceId, String resourceType, AccessStatus status,
+                             int durationMinutes) {
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ResourceAccessStatus(boolean hasAccess, String message, TemporaryAccess access, Boolean isExpired) {
+    }
+
+    public record AccessList(List<TemporaryAccess> accessList) {
+    }
+
+    public record PendingRequests(List<TemporaryAccess> requests) {
+    }
+}
@@ -24,4 +24,11 @@ public class ApiResponse<T> {
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, message, null);
     }
+
+    public static <T> ApiResponse<T> from(ServiceResult<T> result) {
+        if (result instanceof ServiceResult.Success<T> success) {
+            return success(success.message(), success.data());
+        }
+        return error(result.message());
+    }
 }
@@ -0,0 +1,22 @@
+package infosec.securityimplementations.dto;
+
+/**
+ * Payloads of the authentication operations
+ */
+public final class AuthResults {
+
+    private AuthResults() {
+    }
+
+    public record Registration(Long userId, boolean requiresEmailVerification) {
+    }
+
+    public record PasswordVerified(boolean requires2FA) {
+    }
+
+    public record SessionGrant(String sessionToken, UserProfile user) {
+    }
+
+    public record CurrentUser(UserProfile user) {
+    }
+}
@@ -0,0 +1,21 @@
+package infosec.securityimplementations.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchAccessCheckRequest {
+
+    /**
+     * User to evaluate; defaults to the caller. Checking other users requires ADMIN.
+     */
+    private Long userId;
+
+    @NotEmpty(message = "At least one check is required")
+    @Size(max = 1000, message = "At most 1000 checks per request")
+    private List<@Valid AccessCheck> checks;
+}
@@ -0,0 +1,9 @@
+package infosec.securityimplementations.dto;
+
+import java.util.List;
+
+/**
+ * A list of roles with their permission names
+ */
+public record RoleList(List<RoleSummary> roles) {
+}
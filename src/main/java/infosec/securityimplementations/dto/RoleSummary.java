@@ -0,0 +1,23 @@
+package infosec.securityimplementations.dto;
+
+import infosec.securityimplementations.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A role together with the names of its permissions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleSummary {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Role.RoleType roleType;
+    private List<String> permissions;
+}
@@ -0,0 +1,39 @@
+package infosec.securityimplementations.dto;
+
+/**
+ * Outcome of a service operation: a success carrying the operation's payload, or a
+ * failure carrying only a message. Failures with fixed messages are kept as shared
+ * constants by the services, so the common rejection paths allocate nothing.
+ */
+public sealed interface ServiceResult<T> {
+
+    String message();
+
+    boolean success();
+
+    record Success<T>(String message, T data) implements ServiceResult<T> {
+        @Override
+        public boolean success() {
+            return true;
+        }
+    }
+
+    record Failure<T>(String message) implements ServiceResult<T> {
+        @Override
+        public boolean success() {
+            return false;
+        }
+    }
+
+    static <T> Success<T> success(String message, T data) {
+        return new Success<>(message, data);
+    }
+
+    static Success<Void> success(String message) {
+        return new Success<>(message, null);
+    }
+
+    static <T> Failure<T> failure(String message) {
+        return new Failure<>(message);
+    }
+}
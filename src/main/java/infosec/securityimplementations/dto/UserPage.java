@@ -0,0 +1,20 @@
+package infosec.securityimplementations.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the user listing; pass nextCursor as "after" to fetch the next page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+
+    private List<UserSummary> users;
+    // null on the last page
+    private Long nextCursor;
+}
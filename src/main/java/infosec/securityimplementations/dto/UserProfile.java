@@ -0,0 +1,19 @@
+package infosec.securityimplementations.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * The signed-in user as shown to the client; emailVerified is only sent by /me
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserProfile(Long id, String username, String email, Boolean emailVerified, List<RoleName> roles) {
+
+    public record RoleName(String name) {
+    }
+
+    public static List<RoleName> roleNames(List<String> names) {
+        return names.stream().map(RoleName::new).toList();
+    }
+}
@@ -0,0 +1,23 @@
+package infosec.securityimplementations.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing view of a user - everything but the password hash
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private Long id;
+    private String username;
+    private String email;
+    private Boolean emailVerified;
+    private Boolean blocked;
+    private LocalDateTime createdAt;
+}
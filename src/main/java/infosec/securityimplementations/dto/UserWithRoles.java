@@ -0,0 +1,21 @@
+package infosec.securityimplementations.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Listing view of a user with its roles; serialised flat, as the user fields plus "roles"
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserWithRoles {
+
+    @JsonUnwrapped
+    private UserSummary user;
+    private List<RoleSummary> roles;
+}
@@ -0,0 +1,62 @@
+package infosec.securityimplementations.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_messages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_messages_seq")
+    @SequenceGenerator(name = "outbox_messages_seq", sequenceName = "outbox_messages_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 50)
+    private String purpose;
+
+    // Holds the verification code until delivery completes, then cleared
+    @Column(nullable = false, length = 500)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    // Claim of the relay currently delivering this message; expires so another node can take over
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column
+    private LocalDateTime claimedUntil;
+
+    @Column
+    private LocalDateTime sentAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -15,7 +15,8 @@ import lombok.Builder;
 public class RolePermission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_permissions_seq")
+    @SequenceGenerator(name = "role_permissions_seq", sequenceName = "role_permissions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class TemporaryAccess {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "temporary_access_seq")
+    @SequenceGenerator(name = "temporary_access_seq", sequenceName = "temporary_access_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
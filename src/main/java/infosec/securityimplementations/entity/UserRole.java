@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class UserRole {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_roles_seq")
+    @SequenceGenerator(name = "user_roles_seq", sequenceName = "user_roles_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class VerificationCode {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verification_codes_seq")
+    @SequenceGenerator(name = "verification_codes_seq", sequenceName = "verification_codes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +37,9 @@ public class VerificationCode {
     @Column(nullable = false)
     private Boolean used = false;
 
+    @Column
+    private Integer failedAttempts;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
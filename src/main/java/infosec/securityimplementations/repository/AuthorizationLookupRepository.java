@@ -0,0 +1,128 @@
+package infosec.securityimplementations.repository;
+
+import infosec.securityimplementations.entity.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Read-only JDBC lookups for the authorization hot path.
+ * Used to compile the authorization index and to resolve role and permission names,
+ * for many users or roles at a time through batched IN lists.
+ * Rows are mapped straight into records, bypassing the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuthorizationLookupRepository {
+
+    public record RoleRecord(long id, String name, Role.RoleType roleType) {
+    }
+
+    public record PermissionRecord(long id, String name, String resource, String action) {
+    }
+
+    /**
+     * A row of a join table: (roleId, permissionId) or (userId, roleId)
+     */
+    public record IdPair(long first, long second) {
+    }
+
+    /**
+     * A role held by a user
+     */
+    public record UserRoleRecord(long userId, long roleId, String name, String description, Role.RoleType roleType) {
+    }
+
+    // Upper bound on the ids bound into a single IN list
+    private static final int IN_LIST_BATCH = 500;
+
+    private static final RowMapper<RoleRecord> ROLE = (rs, rowNum) -> new RoleRecord(
+            rs.getLong(1),
+            rs.getString(2),
+            Role.RoleType.valueOf(rs.getString(3)));
+
+    private static final RowMapper<PermissionRecord> PERMISSION = (rs, rowNum) -> new PermissionRecord(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4));
+
+    private static final RowMapper<IdPair> PAIR = (rs, rowNum) -> new IdPair(rs.getLong(1), rs.getLong(2));
+
+    private static final RowMapper<UserRoleRecord> USER_ROLE = (rs, rowNum) -> new UserRoleRecord(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getString(3),
+            rs.getString(4),
+            Role.RoleType.valueOf(rs.getString(5)));
+
+    private final JdbcClient jdbcClient;
+
+    public List<RoleRecord> findRoles() {
+        return jdbcClient.sql("SELECT id, name, role_type FROM roles").query(ROLE).list();
+    }
+
+    public List<PermissionRecord> findPermissions() {
+        return jdbcClient.sql("SELECT id, name, resource, action FROM permissions").query(PERMISSION).list();
+    }
+
+    public List<IdPair> findRolePermissionPairs() {
+        return jdbcClient.sql("SELECT role_id, permission_id FROM role_permissions").query(PAIR).list();
+    }
+
+    public List<IdPair> findUserRolePairs() {
+        return jdbcClient.sql("SELECT user_id, role_id FROM user_roles").query(PAIR).list();
+    }
+
+    public List<String> findRoleNamesByUserId(Long userId) {
+        return jdbcClient.sql("SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = ?")
+                .param(userId)
+                .query(String.class)
+                .list();
+    }
+
+    /**
+     * Roles of all the given users, ordered by user and role, one statement per IN-list batch
+     */
+    public List<UserRoleRecord> findRolesByUserIds(Collection<Long> userIds) {
+        List<UserRoleRecord> roles = new ArrayList<>();
+        for (List<Long> batch : batches(userIds)) {
+            roles.addAll(jdbcClient.sql("SELECT ur.user_id, r.id, r.name, r.description, r.role_type " +
+                            "FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+                            "WHERE ur.user_id IN (:ids) ORDER BY ur.user_id, r.id")
+                    .param("ids", batch)
+                    .query(USER_ROLE)
+                    .list());
+        }
+        return roles;
+    }
+
+    /**
+     * Permission names per role id, one statement per IN-list batch; roles without
+     * permissions are absent from the map
+     */
+    public Map<Long, List<String>> findPermissionNamesByRoleIds(Collection<Long> roleIds) {
+        Map<Long, List<String>> names = new HashMap<>();
+        for (List<Long> batch : batches(roleIds)) {
+            jdbcClient.sql("SELECT rp.role_id, p.name FROM role_permissions rp " +
+                            "JOIN permissions p ON p.id = rp.permission_id WHERE rp.role_id IN (:ids) ORDER BY p.id")
+                    .param("ids", batch)
+                    .query(rs -> {
+                        names.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                    });
+        }
+        return names;
+    }
+
+    private static List<List<Long>> batches(Collection<Long> ids) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_LIST_BATCH) {
+            batches.add(distinct.subList(from, Math.min(from + IN_LIST_BATCH, distinct.size())));
+        }
+        return batches;
+    }
+}
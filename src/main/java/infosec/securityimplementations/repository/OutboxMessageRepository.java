@@ -0,0 +1,46 @@
+package infosec.securityimplementations.repository;
+
+import infosec.securityimplementations.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Claim up to :limit pending messages that nobody holds a live claim on.
+     * The claim predicates are repeated outside the subquery so that when two relays
+     * race for the same row, the second re-evaluates them after the first commits
+     * and skips it instead of claiming it twice.
+     *
+     * @return number of messages claimed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_messages SET claim_token = :token, claimed_until = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM outbox_messages WHERE status = 'PENDING' " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) ORDER BY id LIMIT :limit) " +
+            "AND status = 'PENDING' AND (claimed_until IS NULL OR claimed_until < :now)",
+            nativeQuery = true)
+    int claimBatch(String token, LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    List<OutboxMessage> findByClaimTokenAndStatus(String claimToken, OutboxMessage.Status status);
+
+    /**
+     * Mark pending messages sent or failed. The payload is cleared, since a completed
+     * message is never delivered again and the code must not outlive its delivery.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.status = :status, o.sentAt = :sentAt, o.claimedUntil = null, o.payload = '' " +
+            "WHERE o.id IN :ids AND o.status = infosec.securityimplementations.entity.OutboxMessage.Status.PENDING")
+    int complete(List<Long> ids, OutboxMessage.Status status, LocalDateTime sentAt);
+
+    long countByStatus(OutboxMessage.Status status);
+}
@@ -2,6 +2,7 @@ package infosec.securityimplementations.repository;
 
 import infosec.securityimplementations.entity.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,11 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     Optional<Permission> findByName(String name);
 
     List<Permission> findByResource(String resource);
+
+    /**
+     * Effective permissions of a user across all of their roles, in one statement
+     */
+    @Query("SELECT DISTINCT p FROM UserRole ur, RolePermission rp, Permission p " +
+            "WHERE ur.userId = :userId AND rp.roleId = ur.roleId AND p.id = rp.permissionId")
+    List<Permission> findByUserId(Long userId);
 }
@@ -2,6 +2,7 @@ package infosec.securityimplementations.repository;
 
 import infosec.securityimplementations.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,10 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
 
     List<Role> findByRoleType(Role.RoleType roleType);
+
+    /**
+     * Roles assigned to a user, in one statement
+     */
+    @Query("SELECT r FROM UserRole ur, Role r WHERE ur.userId = :userId AND r.id = ur.roleId")
+    List<Role> findByUserId(Long userId);
 }
@@ -0,0 +1,52 @@
+package infosec.securityimplementations.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only JDBC lookups for the session hot path.
+ * Rows are mapped straight into records, bypassing the persistence context, so a
+ * lookup creates no managed entity or dirty-checking snapshot. Writes stay on
+ * {@link SessionRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SessionLookupRepository {
+
+    /**
+     * The columns session validation needs
+     */
+    public record SessionRecord(long id, long userId, LocalDateTime expiresAt, boolean active) {
+    }
+
+    private static final RowMapper<SessionRecord> SESSION = (rs, rowNum) -> new SessionRecord(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getObject(3, LocalDateTime.class),
+            rs.getBoolean(4));
+
+    private final JdbcClient jdbcClient;
+
+    public Optional<SessionRecord> findByToken(String sessionToken) {
+        return jdbcClient.sql("SELECT id, user_id, expires_at, active FROM sessions WHERE session_token = ?")
+                .param(sessionToken)
+                .query(SESSION)
+                .optional();
+    }
+
+    /**
+     * Tokens of logged-out sessions that would otherwise still be valid
+     */
+    public List<String> findInactiveTokensExpiringAfter(LocalDateTime now) {
+        return jdbcClient.sql("SELECT session_token FROM sessions WHERE active = FALSE AND expires_at > ?")
+                .param(now)
+                .query(String.class)
+                .list();
+    }
+}
@@ -2,7 +2,10 @@ package infosec.securityimplementations.repository;
 
 import infosec.securityimplementations.entity.Session;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,4 +18,18 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findByUserIdAndActiveTrue(Long userId);
 
     void deleteByUserId(Long userId);
+
+    /**
+     * Deactivate every active session of a user in one statement
+     *
+     * @return number of sessions deactivated
+     */
+    @Modifying
+    @Query("UPDATE Session s SET s.active = false WHERE s.userId = :userId AND s.active = true")
+    int deactivateByUserId(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Session s SET s.active = false WHERE s.id = :id")
+    int deactivate(Long id);
 }
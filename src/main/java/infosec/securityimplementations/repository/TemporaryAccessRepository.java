@@ -3,8 +3,10 @@ package infosec.securityimplementations.repository;
 import infosec.securityimplementations.entity.AccessStatus;
 import infosec.securityimplementations.entity.TemporaryAccess;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +21,41 @@ public interface TemporaryAccessRepository extends JpaRepository<TemporaryAccess
 
     List<TemporaryAccess> findByStatus(AccessStatus status);
 
-    @Query("SELECT ta FROM TemporaryAccess ta WHERE ta.expiresAt < :now AND ta.revoked = false")
-    List<TemporaryAccess> findExpiredAccess(LocalDateTime now);
+    Optional<TemporaryAccess> findFirstByUserIdAndResourceIdAndRevokedFalseAndStatusAndExpiresAtAfter(
+            Long userId, String resourceId, AccessStatus status, LocalDateTime now);
+
+    /**
+     * Resource ids of every grant of a user that is currently usable
+     */
+    @Query("SELECT ta.resourceId FROM TemporaryAccess ta WHERE ta.userId = :userId AND ta.revoked = false " +
+            "AND ta.status = :status AND ta.expiresAt > :now")
+    List<String> findActiveResourceIds(Long userId, AccessStatus status, LocalDateTime now);
+
+    /**
+     * (id, userId, expiresAt) of every non-revoked grant in the given status
+     */
+    @Query("SELECT ta.id, ta.userId, ta.expiresAt FROM TemporaryAccess ta WHERE ta.status = :status AND ta.revoked = false")
+    List<Object[]> findScheduledExpiries(AccessStatus status);
+
+    /**
+     * Revoke and mark expired the given grants that are still approved
+     *
+     * @return number of grants expired
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TemporaryAccess ta SET ta.revoked = true, ta.status = :expired " +
+            "WHERE ta.id IN :ids AND ta.revoked = false AND ta.status = :approved")
+    int expireApproved(List<Long> ids, AccessStatus approved, AccessStatus expired);
+
+    /**
+     * Revoke every grant past its expiry, marking approved ones as expired
+     *
+     * @return number of grants revoked
+     */
+    @Modifying
+    @Query("UPDATE TemporaryAccess ta SET ta.revoked = true, " +
+            "ta.status = CASE WHEN ta.status = :approved THEN :expired ELSE ta.status END " +
+            "WHERE ta.expiresAt < :now AND ta.revoked = false")
+    int revokeExpired(LocalDateTime now, AccessStatus approved, AccessStatus expired);
 }
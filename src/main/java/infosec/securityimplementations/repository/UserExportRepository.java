@@ -0,0 +1,56 @@
+package infosec.securityimplementations.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only cursor over the users table for exports.
+ * Rows are handed to the consumer one at a time as the driver fetches them in
+ * blocks of the configured fetch size, so memory use does not depend on the
+ * number of users.
+ */
+@Repository
+public class UserExportRepository {
+
+    public record UserRecord(long id, String username, String email, boolean emailVerified,
+                             boolean blocked, LocalDateTime createdAt) {
+    }
+
+    private static final String SELECT = "SELECT id, username, email, email_verified, blocked, created_at " +
+            "FROM users WHERE (CAST(? AS BOOLEAN) IS NULL OR blocked = ?) " +
+            "AND (CAST(? AS BOOLEAN) IS NULL OR email_verified = ?) ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportRepository(DataSource dataSource,
+                                @Value("${users.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream every matching user in id order; a null filter matches both values
+     *
+     * @return number of users streamed
+     */
+    public long forEach(Boolean blocked, Boolean verified, Consumer<UserRecord> consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(SELECT, (RowCallbackHandler) rs -> {
+            consumer.accept(new UserRecord(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getBoolean(4),
+                    rs.getBoolean(5),
+                    rs.getObject(6, LocalDateTime.class)));
+            count[0]++;
+        }, blocked, blocked, verified, verified);
+        return count[0];
+    }
+}
@@ -1,9 +1,13 @@
 package infosec.securityimplementations.repository;
 
+import infosec.securityimplementations.dto.UserSummary;
 import infosec.securityimplementations.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Users after the given id in id order (keyset pagination), optionally filtered;
+     * a null filter matches both values
+     */
+    @Query("SELECT new infosec.securityimplementations.dto.UserSummary(u.id, u.username, u.email, " +
+            "u.emailVerified, u.blocked, u.createdAt) FROM User u " +
+            "WHERE u.id > :afterId AND (:blocked IS NULL OR u.blocked = :blocked) " +
+            "AND (:verified IS NULL OR u.emailVerified = :verified) ORDER BY u.id")
+    List<UserSummary> findPage(Long afterId, Boolean blocked, Boolean verified, Limit limit);
 }
@@ -2,6 +2,8 @@ package infosec.securityimplementations.repository;
 
 import infosec.securityimplementations.entity.VerificationCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,7 +11,13 @@ import java.util.Optional;
 @Repository
 public interface VerificationCodeRepository extends JpaRepository<VerificationCode, Long> {
 
-    Optional<VerificationCode> findByUserIdAndTypeAndUsedFalse(Long userId, VerificationCode.CodeType type);
+    Optional<VerificationCode> findFirstByUserIdAndTypeAndUsedFalseOrderByIdDesc(
+            Long userId, VerificationCode.CodeType type);
 
-    Optional<VerificationCode> findByCodeAndUsedFalse(String code);
+    /**
+     * Retire every outstanding code of a type before a new one is issued
+     */
+    @Modifying
+    @Query("UPDATE VerificationCode v SET v.used = true WHERE v.userId = :userId AND v.type = :type AND v.used = false")
+    int supersede(Long userId, VerificationCode.CodeType type);
 }
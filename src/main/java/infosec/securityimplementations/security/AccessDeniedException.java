@@ -0,0 +1,11 @@
+package infosec.securityimplementations.security;
+
+/**
+ * Thrown when the authenticated user lacks the role a handler requires
+ */
+public class AccessDeniedException extends RuntimeException {
+
+    public AccessDeniedException(String message) {
+        super(message);
+    }
+}
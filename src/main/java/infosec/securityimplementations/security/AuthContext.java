@@ -0,0 +1,60 @@
+package infosec.securityimplementations.security;
+
+import infosec.securityimplementations.service.AuthorizationService;
+
+import java.util.Set;
+
+/**
+ * Authenticated principal for the current request.
+ * Resolved once by {@link AuthContextInterceptor} so controllers and services
+ * can answer role and permission checks without re-querying.
+ */
+public record AuthContext(
+        Long userId,
+        Set<String> roles,
+        Set<String> permissions,
+        Set<String> resourcePermissions,
+        int organizationalLevel) {
+
+    public AuthContext {
+        roles = Set.copyOf(roles);
+        permissions = Set.copyOf(permissions);
+        resourcePermissions = Set.copyOf(resourcePermissions);
+    }
+
+    /**
+     * Key used for resource/action pairs in {@link #resourcePermissions()}
+     */
+    public static String resourceKey(String resource, String action) {
+        return resource + ":" + action;
+    }
+
+    public boolean hasRole(String roleName) {
+        return roles.contains(roleName);
+    }
+
+    public boolean hasAnyRole(String... roleNames) {
+        for (String roleName : roleNames) {
+            if (roles.contains(roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasPermission(String permissionName) {
+        return permissions.contains(permissionName);
+    }
+
+    public boolean hasResourcePermission(String resource, String action) {
+        return resourcePermissions.contains(resourceKey(resource, action));
+    }
+
+    /**
+     * Check organizational role hierarchy
+     * ADMIN > MANAGER > USER
+     */
+    public boolean hasOrganizationalRoleLevel(String requiredRole) {
+        return organizationalLevel >= AuthorizationService.organizationalLevel(requiredRole);
+    }
+}
@@ -0,0 +1,35 @@
+package infosec.securityimplementations.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Injects the {@link AuthContext} resolved by {@link AuthContextInterceptor} into handler methods.
+ * Requests without a valid session are rejected with 401.
+ */
+public class AuthContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == AuthContext.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+
+        Object context = webRequest.getAttribute(AuthContextInterceptor.CONTEXT_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (context != null) {
+            return context;
+        }
+
+        Object failure = webRequest.getAttribute(AuthContextInterceptor.FAILURE_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        throw new AuthenticationRequiredException(failure != null ? failure.toString() : "Not authenticated");
+    }
+}
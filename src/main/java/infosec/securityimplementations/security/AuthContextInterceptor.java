@@ -0,0 +1,60 @@
+package infosec.securityimplementations.security;
+
+import infosec.securityimplementations.service.AuthorizationService;
+import infosec.securityimplementations.service.SessionService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Resolves the session cookie into an {@link AuthContext} once per request.
+ * Only handlers that declare an AuthContext parameter pay for the lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthContextInterceptor implements HandlerInterceptor {
+
+    public static final String SESSION_COOKIE = "SESSION_TOKEN";
+    static final String CONTEXT_ATTRIBUTE = AuthContext.class.getName();
+    static final String FAILURE_ATTRIBUTE = AuthContext.class.getName() + ".failure";
+
+    private final SessionService sessionService;
+    private final AuthorizationService authorizationService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !needsContext(handlerMethod)) {
+            return true;
+        }
+
+        Cookie cookie = WebUtils.getCookie(request, SESSION_COOKIE);
+        if (cookie == null) {
+            request.setAttribute(FAILURE_ATTRIBUTE, "Not authenticated");
+            return true;
+        }
+
+        Long userId = sessionService.validateSession(cookie.getValue()).orElse(null);
+        if (userId == null) {
+            request.setAttribute(FAILURE_ATTRIBUTE, "Invalid session");
+            return true;
+        }
+
+        request.setAttribute(CONTEXT_ATTRIBUTE, authorizationService.buildContext(userId));
+        return true;
+    }
+
+    private boolean needsContext(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.getParameterType() == AuthContext.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package infosec.securityimplementations.security;
+
+/**
+ * Thrown when a handler needs an {@link AuthContext} but the request has no valid session
+ */
+public class AuthenticationRequiredException extends RuntimeException {
+
+    public AuthenticationRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,178 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of access decisions keyed by (resource, action, resourceId).
+ * Concurrent misses for the same key share a single load. Entries are dropped
+ * when the user's roles, temporary grants or account status change, and never
+ * outlive the temporary grant they were based on.
+ */
+@Component
+public class AccessDecisionCache {
+
+    /**
+     * Cache key within a user's decisions
+     */
+    private record DecisionKey(String resource, String action, String resourceId) {
+    }
+
+    /**
+     * A computed decision and the instant (System.nanoTime) until which it may be reused
+     */
+    public record Decision(boolean allowed, long validUntilNanos) {
+    }
+
+    private final Map<Long, Map<DecisionKey, CompletableFuture<Decision>>> users = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAccumulator maxLoadNanos = new LongAccumulator(Math::max, 0);
+
+    private final long ttlNanos;
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+
+    public AccessDecisionCache(@Value("${authorization.decision-cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${authorization.decision-cache.max-users:10000}") int maxUsers,
+                               @Value("${authorization.decision-cache.max-entries-per-user:1024}") int maxEntriesPerUser) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+    }
+
+    /**
+     * Default expiry for a decision computed now
+     */
+    public long defaultValidUntil() {
+        return System.nanoTime() + ttlNanos;
+    }
+
+    /**
+     * Return the cached decision or load it, coalescing concurrent loads of the same key
+     */
+    public boolean get(Long userId, String resource, String action, String resourceId, Supplier<Decision> loader) {
+        DecisionKey key = new DecisionKey(resource, action, resourceId);
+        Map<DecisionKey, CompletableFuture<Decision>> decisions = decisionsFor(userId);
+
+        while (true) {
+            CompletableFuture<Decision> existing = decisions.get(key);
+
+            if (existing != null && !existing.isDone()) {
+                coalesced.increment();
+                return existing.join().allowed();
+            }
+
+            if (existing != null && !existing.isCompletedExceptionally()) {
+                Decision decision = existing.join();
+                if (System.nanoTime() - decision.validUntilNanos() < 0) {
+                    hits.increment();
+                    return decision.allowed();
+                }
+            }
+
+            CompletableFuture<Decision> pending = new CompletableFuture<>();
+            boolean claimed = existing == null
+                    ? decisions.putIfAbsent(key, pending) == null
+                    : decisions.replace(key, existing, pending);
+            if (claimed) {
+                return load(decisions, key, pending, loader).allowed();
+            }
+        }
+    }
+
+    /**
+     * Forget every decision of a user
+     */
+    public void invalidateUser(Long userId) {
+        users.remove(userId);
+    }
+
+    public void invalidateAll() {
+        users.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.userId() == null) {
+            invalidateAll();
+        } else {
+            invalidateUser(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        if (event.userId() == null) {
+            invalidateAll();
+        } else {
+            invalidateUser(event.userId());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long coalescedCount = coalesced.sum();
+        long total = hitCount + missCount + coalescedCount;
+
+        return Map.of(
+                "users", users.size(),
+                "hits", hitCount,
+                "misses", missCount,
+                "coalesced", coalescedCount,
+                "hitRatio", total == 0 ? 0.0 : (double) (hitCount + coalescedCount) / total,
+                "avgLoadMicros", missCount == 0 ? 0.0 : loadNanos.sum() / 1000.0 / missCount,
+                "maxLoadMicros", maxLoadNanos.get() / 1000);
+    }
+
+    private Decision load(Map<DecisionKey, CompletableFuture<Decision>> decisions, DecisionKey key,
+                          CompletableFuture<Decision> pending, Supplier<Decision> loader) {
+        misses.increment();
+        long start = System.nanoTime();
+        try {
+            Decision decision = loader.get();
+            pending.complete(decision);
+            return decision;
+        } catch (RuntimeException e) {
+            decisions.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadNanos.add(elapsed);
+            maxLoadNanos.accumulate(elapsed);
+        }
+    }
+
+    private Map<DecisionKey, CompletableFuture<Decision>> decisionsFor(Long userId) {
+        Map<DecisionKey, CompletableFuture<Decision>> decisions = users.get(userId);
+        if (decisions != null) {
+            if (decisions.size() >= maxEntriesPerUser) {
+                decisions.clear();
+            }
+            return decisions;
+        }
+
+        if (users.size() >= maxUsers) {
+            Iterator<Long> eldest = users.keySet().iterator();
+            if (eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return users.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,141 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.AccessStatus;
+import infosec.securityimplementations.repository.TemporaryAccessRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Expires approved JIT grants close to their deadline.
+ * Grants are kept in a {@link TimingWheel} fed from approvals and rebuilt from
+ * the table at startup; each tick flushes the due grants with set-based UPDATEs.
+ */
+@Component
+@Slf4j
+public class AccessExpiryScheduler {
+
+    /**
+     * An approved grant waiting for its expiry
+     */
+    private record PendingExpiry(Long accessId, Long userId, long deadlineMillis) {
+    }
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final TemporaryAccessRepository temporaryAccessRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long tickMillis;
+
+    // Approvals are handed over here and moved into the wheel by the tick thread
+    private final Queue<PendingExpiry> inbox = new ConcurrentLinkedQueue<>();
+    private final TimingWheel<PendingExpiry> wheel;
+    // Not a monitor: the flush blocks on JDBC, which would pin a virtual carrier thread
+    private final ReentrantLock tickLock = new ReentrantLock();
+
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+
+    public AccessExpiryScheduler(TemporaryAccessRepository temporaryAccessRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${jit.access.expiry.tick-ms:1000}") long tickMillis) {
+        this.temporaryAccessRepository = temporaryAccessRepository;
+        this.eventPublisher = eventPublisher;
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel<>(System.currentTimeMillis() / tickMillis);
+    }
+
+    /**
+     * Track an approved grant until it expires
+     */
+    public void schedule(Long accessId, Long userId, LocalDateTime expiresAt) {
+        inbox.add(new PendingExpiry(accessId, userId, toEpochMillis(expiresAt)));
+    }
+
+    /**
+     * Load every outstanding approved grant, expiring the overdue ones right away
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = temporaryAccessRepository.findScheduledExpiries(AccessStatus.APPROVED);
+        for (Object[] row : rows) {
+            if (row[2] != null) {
+                schedule((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+            }
+        }
+        log.info("Access expiry wheel rebuilt with {} approved grants", rows.size());
+        tick();
+    }
+
+    @Scheduled(fixedDelayString = "${jit.access.expiry.tick-ms:1000}")
+    public void tick() {
+        tickLock.lock();
+        try {
+            PendingExpiry pending;
+            while ((pending = inbox.poll()) != null) {
+                wheel.schedule(ceilDiv(pending.deadlineMillis(), tickMillis), pending);
+            }
+
+            long now = System.currentTimeMillis();
+            List<PendingExpiry> due = new ArrayList<>();
+            wheel.advanceTo(now / tickMillis, due);
+            if (!due.isEmpty()) {
+                flush(due, now);
+            }
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "pending", wheel.size() + inbox.size(),
+                "expired", expired.sum(),
+                "flushes", flushes.sum(),
+                "maxLagMillis", maxLagMillis.get());
+    }
+
+    private void flush(List<PendingExpiry> due, long now) {
+        Set<Long> affectedUsers = new HashSet<>();
+        int updated = 0;
+
+        for (int from = 0; from < due.size(); from += FLUSH_BATCH_SIZE) {
+            List<PendingExpiry> batch = due.subList(from, Math.min(from + FLUSH_BATCH_SIZE, due.size()));
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (PendingExpiry expiry : batch) {
+                ids.add(expiry.accessId());
+                affectedUsers.add(expiry.userId());
+                maxLagMillis.accumulate(now - expiry.deadlineMillis());
+            }
+            // Grants revoked or re-decided since approval are skipped by the WHERE clause
+            updated += temporaryAccessRepository.expireApproved(
+                    ids, AccessStatus.APPROVED, AccessStatus.EXPIRED);
+            flushes.increment();
+        }
+
+        expired.add(updated);
+        affectedUsers.forEach(userId -> eventPublisher.publishEvent(new UserAccessChangedEvent(userId)));
+        log.info("Expired {} temporary access grants", updated);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
@@ -0,0 +1,78 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Argon2id hashes in the PHC "$argon2id$v=19$m=..,t=..,p=..$salt$hash" form.
+ * Requires BouncyCastle on the classpath.
+ */
+public class Argon2PasswordHasher implements PasswordHasher {
+
+    public static final int MEMORY_KIB = 19 * 1024;
+    public static final int MIN_ITERATIONS = 2;
+    public static final int MAX_ITERATIONS = 10;
+
+    private static final Pattern ARGON2 = Pattern.compile("^\\$argon2id\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$.+");
+
+    private final int iterations;
+    private final Argon2PasswordEncoder encoder;
+
+    public Argon2PasswordHasher(int iterations) {
+        this.iterations = iterations;
+        this.encoder = new Argon2PasswordEncoder(16, 32, 1, MEMORY_KIB, iterations);
+    }
+
+    public static boolean isAvailable() {
+        return ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator",
+                Argon2PasswordHasher.class.getClassLoader());
+    }
+
+    /**
+     * Lowest iteration count at fixed memory whose verification takes at least the target time
+     */
+    public static Argon2PasswordHasher calibrated(long targetMillis) {
+        Argon2PasswordHasher hasher = new Argon2PasswordHasher(MIN_ITERATIONS);
+        while (hasher.iterations < MAX_ITERATIONS && PasswordHasher.measureMillis(hasher) < targetMillis) {
+            hasher = new Argon2PasswordHasher(hasher.iterations + 1);
+        }
+        return hasher;
+    }
+
+    @Override
+    public String id() {
+        return "argon2";
+    }
+
+    @Override
+    public String parameters() {
+        return "m=" + MEMORY_KIB + ",t=" + iterations + ",p=1";
+    }
+
+    @Override
+    public boolean supports(String storedHash) {
+        return storedHash != null && storedHash.startsWith("$argon2");
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return encoder.encode(plainPassword);
+    }
+
+    @Override
+    public boolean matches(String plainPassword, String storedHash) {
+        // Parameters are read from the stored hash, so older hashes verify too
+        return encoder.matches(plainPassword, storedHash);
+    }
+
+    @Override
+    public boolean isWeakerThanCurrent(String storedHash) {
+        Matcher matcher = ARGON2.matcher(storedHash);
+        return !matcher.matches()
+                || Integer.parseInt(matcher.group(1)) < MEMORY_KIB
+                || Integer.parseInt(matcher.group(2)) < iterations;
+    }
+}
@@ -1,26 +1,31 @@
 package infosec.securityimplementations.service;
 
+import infosec.securityimplementations.dto.AuthResults.CurrentUser;
+import infosec.securityimplementations.dto.AuthResults.PasswordVerified;
+import infosec.securityimplementations.dto.AuthResults.Registration;
+import infosec.securityimplementations.dto.AuthResults.SessionGrant;
 import infosec.securityimplementations.dto.LoginRequest;
 import infosec.securityimplementations.dto.RegisterRequest;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.dto.UserProfile;
 import infosec.securityimplementations.dto.Verify2FARequest;
 import infosec.securityimplementations.dto.VerifyEmailRequest;
 import infosec.securityimplementations.entity.User;
 import infosec.securityimplementations.entity.VerificationCode;
 import infosec.securityimplementations.entity.Role;
 import infosec.securityimplementations.entity.UserRole;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository;
 import infosec.securityimplementations.repository.UserRepository;
 import infosec.securityimplementations.repository.RoleRepository;
 import infosec.securityimplementations.repository.UserRoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Manual authentication service - no Spring Security auto-configuration
@@ -30,32 +35,60 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthenticationService {
 
+    private static final ServiceResult.Failure<Registration> USERNAME_TAKEN =
+            ServiceResult.failure("Username already exists");
+    private static final ServiceResult.Failure<Registration> EMAIL_TAKEN =
+            ServiceResult.failure("Email already exists");
+    private static final ServiceResult.Failure<Registration> BREACHED_PASSWORD =
+            ServiceResult.failure("This password has appeared in a data breach. Please choose another one.");
+    private static final ServiceResult.Failure<Void> USER_NOT_FOUND = ServiceResult.failure("User not found");
+    private static final ServiceResult.Failure<Void> INVALID_VERIFICATION_CODE =
+            ServiceResult.failure("Invalid or expired verification code");
+    private static final ServiceResult.Failure<Void> ALREADY_VERIFIED = ServiceResult.failure("Email is already verified");
+    private static final ServiceResult.Failure<PasswordVerified> INVALID_CREDENTIALS =
+            ServiceResult.failure("Invalid username or password");
+    private static final ServiceResult.Failure<PasswordVerified> EMAIL_NOT_VERIFIED =
+            ServiceResult.failure("Please verify your email before logging in");
+    private static final ServiceResult.Failure<PasswordVerified> ACCOUNT_BLOCKED =
+            ServiceResult.failure("Your account has been blocked. Please contact administrator.");
+    private static final ServiceResult.Failure<SessionGrant> UNKNOWN_2FA_USER = ServiceResult.failure("User not found");
+    private static final ServiceResult.Failure<SessionGrant> BLOCKED_2FA_USER =
+            ServiceResult.failure("Your account has been blocked.");
+    private static final ServiceResult.Failure<SessionGrant> INVALID_2FA_CODE =
+            ServiceResult.failure("Invalid or expired 2FA code");
+    private static final ServiceResult.Failure<CurrentUser> INVALID_SESSION =
+            ServiceResult.failure("Invalid or expired session");
+    private static final ServiceResult.Failure<CurrentUser> SESSION_USER_NOT_FOUND =
+            ServiceResult.failure("User not found");
+    private static final PasswordVerified AWAITING_2FA = new PasswordVerified(true);
+
     private final UserRepository userRepository;
     private final PasswordService passwordService;
     private final VerificationService verificationService;
     private final SessionService sessionService;
     private final UserRoleRepository userRoleRepository;
     private final RoleRepository roleRepository;
+    private final AuthorizationLookupRepository authorizationLookupRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public Map<String, Object> register(RegisterRequest request) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Registration> register(RegisterRequest request) {
         // Manual validation - check if username exists
         if (userRepository.existsByUsername(request.getUsername())) {
-            result.put("success", false);
-            result.put("message", "Username already exists");
-            return result;
+            return USERNAME_TAKEN;
         }
 
         // Manual validation - check if email exists
         if (userRepository.existsByEmail(request.getEmail())) {
-            result.put("success", false);
-            result.put("message", "Email already exists");
-            return result;
+            return EMAIL_TAKEN;
+        }
+
+        // Breached-password check is cheap - run it before any hashing
+        if (passwordService.isPasswordBreached(request.getPassword())) {
+            return BREACHED_PASSWORD;
         }
 
-        // Manual password hashing using BCrypt
+        // Manual password hashing
         String hashedPassword = passwordService.hashPassword(request.getPassword());
 
         // Create user
@@ -72,26 +105,18 @@ public class AuthenticationService {
         // Send email verification code
         verificationService.sendEmailVerificationCode(user.getId(), user.getEmail());
 
-        result.put("success", true);
-        result.put("message", "Registration successful. Please check your email for verification code.");
-        result.put("userId", user.getId());
-        result.put("requiresEmailVerification", true);
-
-        return result;
+        return ServiceResult.success("Registration successful. Please check your email for verification code.",
+                new Registration(user.getId(), true));
     }
 
     /**
      * Verify email with code
      */
     @Transactional
-    public Map<String, Object> verifyEmail(VerifyEmailRequest request) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> verifyEmail(VerifyEmailRequest request) {
         Optional<User> optionalUser = userRepository.findByEmail(request.getEmail());
         if (optionalUser.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return USER_NOT_FOUND;
         }
 
         User user = optionalUser.get();
@@ -103,9 +128,7 @@ public class AuthenticationService {
                 VerificationCode.CodeType.EMAIL_VERIFICATION);
 
         if (!isValid) {
-            result.put("success", false);
-            result.put("message", "Invalid or expired verification code");
-            return result;
+            return INVALID_VERIFICATION_CODE;
         }
 
         // Mark email as verified
@@ -119,56 +142,42 @@ public class AuthenticationService {
         userUserRole.setUserId(user.getId());
         userUserRole.setRoleId(userRole.getId());
         userRoleRepository.save(userUserRole);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.forUser(user.getId()));
 
-        result.put("success", true);
-        result.put("message", "Email verified successfully. You can now log in.");
-
-        return result;
+        return ServiceResult.success("Email verified successfully. You can now log in.");
     }
 
     /**
      * Resend verification code
      */
     @Transactional
-    public Map<String, Object> resendVerificationCode(String email) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> resendVerificationCode(String email) {
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isEmpty()) {
             // detailed message for dev/testing, generic for prod usually
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return USER_NOT_FOUND;
         }
 
         User user = optionalUser.get();
         if (user.getEmailVerified()) {
-            result.put("success", false);
-            result.put("message", "Email is already verified");
-            return result;
+            return ALREADY_VERIFIED;
         }
 
         verificationService.sendEmailVerificationCode(user.getId(), user.getEmail());
         log.info("Verification code resent to: {}", email);
 
-        result.put("success", true);
-        result.put("message", "Verification code sent to your email");
-        return result;
+        return ServiceResult.success("Verification code sent to your email");
     }
 
     /**
      * Manual login - Step 1: Verify password
      */
     @Transactional
-    public Map<String, Object> login(LoginRequest request) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<PasswordVerified> login(LoginRequest request) {
         // Manual credential verification
         Optional<User> optionalUser = userRepository.findByUsername(request.getUsername());
         if (optionalUser.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Invalid username or password");
-            return result;
+            return INVALID_CREDENTIALS;
         }
 
         User user = optionalUser.get();
@@ -179,57 +188,60 @@ public class AuthenticationService {
                 user.getPasswordHash());
 
         if (!passwordMatches) {
-            result.put("success", false);
-            result.put("message", "Invalid username or password");
-            return result;
+            return INVALID_CREDENTIALS;
         }
 
         // Check if email is verified
         if (!user.getEmailVerified()) {
-            result.put("success", false);
-            result.put("message", "Please verify your email before logging in");
-            return result;
+            return EMAIL_NOT_VERIFIED;
         }
 
         // Check if user is blocked
         if (user.getBlocked() != null && user.getBlocked()) {
-            result.put("success", false);
-            result.put("message", "Your account has been blocked. Please contact administrator.");
-            return result;
+            return ACCOUNT_BLOCKED;
+        }
+
+        // Transparently upgrade hashes made with another scheme or a lower cost
+        if (passwordService.needsRehash(user.getPasswordHash())) {
+            upgradePasswordHash(user, request.getPassword());
         }
 
         // Send 2FA code
         verificationService.send2FACode(user.getId(), user.getEmail());
         log.info("2FA code sent to user: {}", user.getUsername());
 
-        result.put("success", true);
-        result.put("message", "Password verified. Please enter the 2FA code sent to your email.");
-        result.put("requires2FA", true);
+        return ServiceResult.success("Password verified. Please enter the 2FA code sent to your email.", AWAITING_2FA);
+    }
 
-        return result;
+    /**
+     * Best effort: with the hashing pool full the old hash stays until a later login
+     */
+    private void upgradePasswordHash(User user, String plainPassword) {
+        try {
+            user.setPasswordHash(passwordService.hashPassword(plainPassword));
+        } catch (HashingCapacityExceededException e) {
+            log.warn("Password hash upgrade skipped for user {}: hashing pool is busy", user.getUsername());
+            return;
+        }
+        userRepository.save(user);
+        log.info("Password hash upgraded for user: {}", user.getUsername());
     }
 
     /**
      * Manual login - Step 2: Verify 2FA code and create session
      */
     @Transactional
-    public Map<String, Object> verify2FA(Verify2FARequest request) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<SessionGrant> verify2FA(Verify2FARequest request) {
         Optional<User> optionalUser = userRepository.findByUsername(request.getUsername());
         if (optionalUser.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return UNKNOWN_2FA_USER;
         }
 
         User user = optionalUser.get();
 
         // Check if user is blocked
         if (user.getBlocked() != null && user.getBlocked()) {
-            result.put("success", false);
-            result.put("message", "Your account has been blocked.");
-            return result;
+            return BLOCKED_2FA_USER;
         }
 
         // Validate 2FA code
@@ -239,92 +251,50 @@ public class AuthenticationService {
                 VerificationCode.CodeType.TWO_FACTOR);
 
         if (!isValid) {
-            result.put("success", false);
-            result.put("message", "Invalid or expired 2FA code");
-            return result;
+            return INVALID_2FA_CODE;
         }
 
         // Create session
         String sessionToken = sessionService.createSession(user.getId());
         log.info("Session created for user: {}", user.getUsername());
 
-        result.put("success", true);
-        result.put("message", "Login successful");
-        result.put("sessionToken", sessionToken);
-
         // Fetch roles for login response too
-        List<UserRole> userRoles = userRoleRepository.findByUserId(user.getId());
-        List<Long> roleIds = userRoles.stream().map(UserRole::getRoleId).collect(Collectors.toList());
-        List<Role> roles = roleRepository.findAllById(roleIds);
-
-        List<Map<String, String>> roleObjects = roles.stream()
-                .map(r -> Map.of("name", r.getName()))
-                .collect(Collectors.toList());
+        List<String> roleNames = authorizationLookupRepository.findRoleNamesByUserId(user.getId());
 
-        result.put("user", Map.of(
-                "id", user.getId(),
-                "username", user.getUsername(),
-                "email", user.getEmail(),
-                "roles", roleObjects));
-
-        return result;
+        return ServiceResult.success("Login successful", new SessionGrant(sessionToken, new UserProfile(
+                user.getId(), user.getUsername(), user.getEmail(), null, UserProfile.roleNames(roleNames))));
     }
 
     /**
      * Logout - invalidate session
      */
     @Transactional
-    public Map<String, Object> logout(String sessionToken) {
-        Map<String, Object> result = new HashMap<>();
-
+    public void logout(String sessionToken) {
         sessionService.invalidateSession(sessionToken);
         log.info("Session invalidated");
-
-        result.put("success", true);
-        result.put("message", "Logged out successfully");
-
-        return result;
     }
 
     /**
      * Get current user info from session
      */
-    public Map<String, Object> getCurrentUser(String sessionToken) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<CurrentUser> getCurrentUser(String sessionToken) {
         Optional<Long> userIdOpt = sessionService.validateSession(sessionToken);
         if (userIdOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Invalid or expired session");
-            return result;
+            return INVALID_SESSION;
         }
 
         Optional<User> optionalUser = userRepository.findById(userIdOpt.get());
         if (optionalUser.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return SESSION_USER_NOT_FOUND;
         }
 
         User user = optionalUser.get();
 
         // Manual role fetching (since User entity doesn't have roles relationship)
-        List<UserRole> userRoles = userRoleRepository.findByUserId(user.getId());
-        List<Long> roleIds = userRoles.stream().map(UserRole::getRoleId).collect(Collectors.toList());
-        List<Role> roles = roleRepository.findAllById(roleIds);
-
-        List<Map<String, String>> roleObjects = roles.stream()
-                .map(r -> Map.of("name", r.getName()))
-                .collect(Collectors.toList());
-
-        result.put("success", true);
-        result.put("user", Map.of(
-                "id", user.getId(),
-                "username", user.getUsername(),
-                "email", user.getEmail(),
-                "emailVerified", user.getEmailVerified(),
-                "roles", roleObjects));
-
-        return result;
+        List<String> roleNames = authorizationLookupRepository.findRoleNamesByUserId(user.getId());
+
+        return ServiceResult.success("User info retrieved", new CurrentUser(new UserProfile(
+                user.getId(), user.getUsername(), user.getEmail(), user.getEmailVerified(),
+                UserProfile.roleNames(roleNames))));
     }
 }
@@ -0,0 +1,16 @@
+package infosec.securityimplementations.service;
+
+/**
+ * Published whenever role assignments or role/permission mappings change.
+ * A null userId means the change is not limited to a single user.
+ */
+public record AuthorizationChangedEvent(Long userId) {
+
+    public static AuthorizationChangedEvent global() {
+        return new AuthorizationChangedEvent(null);
+    }
+
+    public static AuthorizationChangedEvent forUser(Long userId) {
+        return new AuthorizationChangedEvent(userId);
+    }
+}
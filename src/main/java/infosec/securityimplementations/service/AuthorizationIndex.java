@@ -0,0 +1,217 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.Role;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository.IdPair;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository.PermissionRecord;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository.RoleRecord;
+
+import java.util.*;
+
+/**
+ * Immutable, compiled snapshot of the RBAC model.
+ * Roles and permissions get dense integer ids; each role maps to a permission
+ * bitset and each user to a role bitset plus the precomputed union of their
+ * permissions, so checks are a couple of map lookups and a bit test.
+ */
+public final class AuthorizationIndex {
+
+    private static final long[] NO_BITS = new long[0];
+
+    /**
+     * Compiled grants of a single user
+     */
+    private record UserGrants(long[] roles, long[] permissions, int organizationalLevel) {
+    }
+
+    private static final UserGrants NO_GRANTS = new UserGrants(NO_BITS, NO_BITS, 0);
+
+    private final long version;
+    private final Map<String, Integer> roleIds;
+    private final String[] roleNames;
+    private final Map<String, Integer> permissionIds;
+    private final String[] permissionNames;
+    // resource -> action -> permission id; nested to avoid building composite keys per check
+    private final Map<String, Map<String, Integer>> resourceActionIds;
+    private final String[][] permissionResourceActions;
+    private final Map<Long, UserGrants> users;
+
+    private AuthorizationIndex(long version, Map<String, Integer> roleIds, String[] roleNames,
+                               Map<String, Integer> permissionIds, String[] permissionNames,
+                               Map<String, Map<String, Integer>> resourceActionIds,
+                               String[][] permissionResourceActions, Map<Long, UserGrants> users) {
+        this.version = version;
+        this.roleIds = roleIds;
+        this.roleNames = roleNames;
+        this.permissionIds = permissionIds;
+        this.permissionNames = permissionNames;
+        this.resourceActionIds = resourceActionIds;
+        this.permissionResourceActions = permissionResourceActions;
+        this.users = users;
+    }
+
+    /**
+     * Compile the index from the raw tables
+     *
+     * @param rolePermissions pairs of (roleId, permissionId)
+     * @param userRoles       pairs of (userId, roleId)
+     */
+    public static AuthorizationIndex build(long version, List<RoleRecord> roles, List<PermissionRecord> permissions,
+                                           List<IdPair> rolePermissions, List<IdPair> userRoles) {
+
+        Map<Long, Integer> roleDenseIds = new HashMap<>();
+        Map<String, Integer> roleIds = new HashMap<>();
+        String[] roleNames = new String[roles.size()];
+        int[] roleLevels = new int[roles.size()];
+        for (int i = 0; i < roles.size(); i++) {
+            RoleRecord role = roles.get(i);
+            roleDenseIds.put(role.id(), i);
+            roleIds.put(role.name(), i);
+            roleNames[i] = role.name();
+            roleLevels[i] = role.roleType() == Role.RoleType.ORGANIZATIONAL
+                    ? AuthorizationService.organizationalLevel(role.name())
+                    : 0;
+        }
+
+        Map<Long, Integer> permissionDenseIds = new HashMap<>();
+        Map<String, Integer> permissionIds = new HashMap<>();
+        Map<String, Map<String, Integer>> resourceActionIds = new HashMap<>();
+        String[] permissionNames = new String[permissions.size()];
+        String[][] permissionResourceActions = new String[permissions.size()][];
+        for (int i = 0; i < permissions.size(); i++) {
+            PermissionRecord permission = permissions.get(i);
+            permissionDenseIds.put(permission.id(), i);
+            permissionIds.put(permission.name(), i);
+            resourceActionIds.computeIfAbsent(permission.resource(), r -> new HashMap<>())
+                    .put(permission.action(), i);
+            permissionNames[i] = permission.name();
+            permissionResourceActions[i] = new String[]{permission.resource(), permission.action()};
+        }
+
+        int permissionWords = words(permissions.size());
+        long[][] rolePermissionBits = new long[roles.size()][permissionWords];
+        for (IdPair pair : rolePermissions) {
+            Integer role = roleDenseIds.get(pair.first());
+            Integer permission = permissionDenseIds.get(pair.second());
+            if (role != null && permission != null) {
+                set(rolePermissionBits[role], permission);
+            }
+        }
+
+        int roleWords = words(roles.size());
+        Map<Long, long[]> userRoleBits = new HashMap<>();
+        for (IdPair pair : userRoles) {
+            Integer role = roleDenseIds.get(pair.second());
+            if (role != null) {
+                set(userRoleBits.computeIfAbsent(pair.first(), u -> new long[roleWords]), role);
+            }
+        }
+
+        Map<Long, UserGrants> users = new HashMap<>(userRoleBits.size() * 2);
+        userRoleBits.forEach((userId, roleBits) -> {
+            long[] permissionBits = new long[permissionWords];
+            int level = 0;
+            for (int role = 0; role < roleNames.length; role++) {
+                if (isSet(roleBits, role)) {
+                    long[] granted = rolePermissionBits[role];
+                    for (int w = 0; w < permissionWords; w++) {
+                        permissionBits[w] |= granted[w];
+                    }
+                    level = Math.max(level, roleLevels[role]);
+                }
+            }
+            users.put(userId, new UserGrants(roleBits, permissionBits, level));
+        });
+
+        return new AuthorizationIndex(version, Map.copyOf(roleIds), roleNames,
+                Map.copyOf(permissionIds), permissionNames, Map.copyOf(resourceActionIds),
+                permissionResourceActions, Map.copyOf(users));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean hasRole(Long userId, String roleName) {
+        Integer role = roleIds.get(roleName);
+        return role != null && isSet(grants(userId).roles(), role);
+    }
+
+    public boolean hasPermission(Long userId, String permissionName) {
+        Integer permission = permissionIds.get(permissionName);
+        return permission != null && isSet(grants(userId).permissions(), permission);
+    }
+
+    public boolean hasResourcePermission(Long userId, String resource, String action) {
+        Map<String, Integer> actions = resourceActionIds.get(resource);
+        if (actions == null) {
+            return false;
+        }
+        Integer permission = actions.get(action);
+        return permission != null && isSet(grants(userId).permissions(), permission);
+    }
+
+    /**
+     * Highest organizational level among the user's roles (0 if none)
+     */
+    public int organizationalLevel(Long userId) {
+        return grants(userId).organizationalLevel();
+    }
+
+    public Set<String> roleNames(Long userId) {
+        long[] bits = grants(userId).roles();
+        Set<String> names = new HashSet<>();
+        for (int role = 0; role < roleNames.length; role++) {
+            if (isSet(bits, role)) {
+                names.add(roleNames[role]);
+            }
+        }
+        return names;
+    }
+
+    public Set<String> permissionNames(Long userId) {
+        long[] bits = grants(userId).permissions();
+        Set<String> names = new HashSet<>();
+        for (int permission = 0; permission < permissionNames.length; permission++) {
+            if (isSet(bits, permission)) {
+                names.add(permissionNames[permission]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Resource/action pairs granted to a user, as {resource, action} arrays
+     */
+    public List<String[]> resourceActions(Long userId) {
+        long[] bits = grants(userId).permissions();
+        List<String[]> pairs = new ArrayList<>();
+        for (int permission = 0; permission < permissionResourceActions.length; permission++) {
+            if (isSet(bits, permission)) {
+                pairs.add(permissionResourceActions[permission]);
+            }
+        }
+        return pairs;
+    }
+
+    public int userCount() {
+        return users.size();
+    }
+
+    private UserGrants grants(Long userId) {
+        UserGrants grants = users.get(userId);
+        return grants != null ? grants : NO_GRANTS;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,85 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.repository.AuthorizationLookupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link AuthorizationIndex}.
+ * Every committed RBAC change bumps a global version; the next check recompiles
+ * the index and swaps it in atomically, so readers never see a partial model.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationIndexHolder {
+
+    private final AuthorizationLookupRepository authorizationLookupRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<AuthorizationIndex> current = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * Current index, recompiled first if the model changed since it was built
+     */
+    public AuthorizationIndex get() {
+        AuthorizationIndex index = current.get();
+        if (index != null && index.version() == version.get()) {
+            return index;
+        }
+
+        rebuildLock.lock();
+        try {
+            index = current.get();
+            long target = version.get();
+            if (index == null || index.version() != target) {
+                index = rebuild(target);
+                current.set(index);
+            }
+            return index;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Runs before dependent caches are invalidated so their reloads see the new version
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        AuthorizationIndex index = current.get();
+        return Map.of(
+                "version", version.get(),
+                "builtVersion", index != null ? index.version() : -1,
+                "rebuilds", rebuilds.sum(),
+                "users", index != null ? index.userCount() : 0);
+    }
+
+    private AuthorizationIndex rebuild(long target) {
+        long start = System.nanoTime();
+        AuthorizationIndex index = AuthorizationIndex.build(
+                target,
+                authorizationLookupRepository.findRoles(),
+                authorizationLookupRepository.findPermissions(),
+                authorizationLookupRepository.findRolePermissionPairs(),
+                authorizationLookupRepository.findUserRolePairs());
+        rebuilds.increment();
+        log.debug("Authorization index v{} compiled in {} us", target, (System.nanoTime() - start) / 1000);
+        return index;
+    }
+}
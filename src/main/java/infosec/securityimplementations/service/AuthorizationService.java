@@ -1,13 +1,16 @@
 package infosec.securityimplementations.service;
 
+import infosec.securityimplementations.dto.AccessCheck;
 import infosec.securityimplementations.entity.*;
 import infosec.securityimplementations.repository.*;
+import infosec.securityimplementations.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Manual authorization service - implements role-based access control
@@ -17,73 +20,71 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthorizationService {
 
-    private final UserRoleRepository userRoleRepository;
     private final RoleRepository roleRepository;
-    private final RolePermissionRepository rolePermissionRepository;
     private final PermissionRepository permissionRepository;
     private final TemporaryAccessRepository temporaryAccessRepository;
+    private final AuthorizationIndexHolder authorizationIndexHolder;
+    private final AccessDecisionCache accessDecisionCache;
+
+    // Organizational role hierarchy: ADMIN > MANAGER > USER
+    private static final Map<String, Integer> ROLE_HIERARCHY = Map.of(
+            "ADMIN", 3,
+            "MANAGER", 2,
+            "USER", 1);
+
+    /**
+     * Level of an organizational role in the hierarchy (0 if not part of it)
+     */
+    public static int organizationalLevel(String roleName) {
+        return ROLE_HIERARCHY.getOrDefault(roleName, 0);
+    }
 
     /**
      * Get all roles for a user
      */
     public List<Role> getUserRoles(Long userId) {
-        List<UserRole> userRoles = userRoleRepository.findByUserId(userId);
-        List<Long> roleIds = userRoles.stream()
-                .map(UserRole::getRoleId)
-                .collect(Collectors.toList());
-
-        return roleRepository.findAllById(roleIds);
+        return roleRepository.findByUserId(userId);
     }
 
     /**
      * Get all permissions for a user (through their roles)
      */
     public Set<Permission> getUserPermissions(Long userId) {
-        List<Role> roles = getUserRoles(userId);
-        Set<Permission> permissions = new HashSet<>();
-
-        for (Role role : roles) {
-            List<Long> permissionIds = rolePermissionRepository.findPermissionIdsByRoleId(role.getId());
-            permissions.addAll(permissionRepository.findAllById(permissionIds));
-        }
-
-        return permissions;
+        return new HashSet<>(permissionRepository.findByUserId(userId));
     }
 
     /**
      * Check if user has a specific role
      */
     public boolean hasRole(Long userId, String roleName) {
-        List<Role> roles = getUserRoles(userId);
-        return roles.stream().anyMatch(role -> role.getName().equals(roleName));
+        return authorizationIndexHolder.get().hasRole(userId, roleName);
     }
 
     /**
      * Check if user has any of the specified roles
      */
     public boolean hasAnyRole(Long userId, String... roleNames) {
-        List<Role> roles = getUserRoles(userId);
-        Set<String> userRoleNames = roles.stream()
-                .map(Role::getName)
-                .collect(Collectors.toSet());
-
-        return Arrays.stream(roleNames).anyMatch(userRoleNames::contains);
+        AuthorizationIndex index = authorizationIndexHolder.get();
+        for (String roleName : roleNames) {
+            if (index.hasRole(userId, roleName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Check if user has a specific permission
      */
     public boolean hasPermission(Long userId, String permissionName) {
-        Set<Permission> permissions = getUserPermissions(userId);
-        return permissions.stream().anyMatch(p -> p.getName().equals(permissionName));
+        return authorizationIndexHolder.get().hasPermission(userId, permissionName);
     }
 
     /**
      * Check if user has permission for a resource action
      */
     public boolean hasResourcePermission(Long userId, String resource, String action) {
-        Set<Permission> permissions = getUserPermissions(userId);
-        return permissions.stream().anyMatch(p -> p.getResource().equals(resource) && p.getAction().equals(action));
+        return authorizationIndexHolder.get().hasResourcePermission(userId, resource, action);
     }
 
     /**
@@ -91,45 +92,120 @@ public class AuthorizationService {
      * ADMIN > MANAGER > USER
      */
     public boolean hasOrganizationalRoleLevel(Long userId, String requiredRole) {
-        List<Role> roles = getUserRoles(userId);
-
-        // Define role hierarchy
-        Map<String, Integer> roleHierarchy = Map.of(
-                "ADMIN", 3,
-                "MANAGER", 2,
-                "USER", 1);
-
-        int requiredLevel = roleHierarchy.getOrDefault(requiredRole, 0);
-
-        return roles.stream()
-                .filter(role -> role.getRoleType() == Role.RoleType.ORGANIZATIONAL)
-                .anyMatch(role -> roleHierarchy.getOrDefault(role.getName(), 0) >= requiredLevel);
+        return authorizationIndexHolder.get().organizationalLevel(userId) >= organizationalLevel(requiredRole);
     }
 
     /**
      * Check if user has temporary (JIT) access to a resource
      */
     public boolean hasTemporaryAccess(Long userId, String resourceId) {
-        Optional<TemporaryAccess> access = temporaryAccessRepository
-                .findByUserIdAndResourceIdAndRevokedFalse(userId, resourceId);
-
-        return access.isPresent() && access.get().isActive();
+        return findActiveGrant(userId, resourceId).isPresent();
     }
 
     /**
      * Manual access control check - combines role, permission, and JIT access
      */
     public boolean canAccess(Long userId, String resource, String action, String resourceId) {
-        // Check direct permission
-        if (hasResourcePermission(userId, resource, action)) {
+        return accessDecisionCache.get(userId, resource, action, resourceId,
+                () -> decide(userId, hasResourcePermission(userId, resource, action), resourceId));
+    }
+
+    /**
+     * Same check as {@link #canAccess(Long, String, String, String)} against an already resolved principal
+     */
+    public boolean canAccess(AuthContext context, String resource, String action, String resourceId) {
+        if (context.hasResourcePermission(resource, action)) {
             return true;
         }
 
-        // Check temporary access if resourceId is provided
-        if (resourceId != null && hasTemporaryAccess(userId, resourceId)) {
-            return true;
+        return accessDecisionCache.get(context.userId(), resource, action, resourceId,
+                () -> decide(context.userId(), false, resourceId));
+    }
+
+    /**
+     * Answer many access checks for one user at once.
+     * Permissions come from the compiled index and all active temporary grants
+     * are loaded with a single query, only if some check needs them.
+     */
+    public List<Boolean> canAccessAll(Long userId, List<AccessCheck> checks) {
+        AuthorizationIndex index = authorizationIndexHolder.get();
+        List<Boolean> results = new ArrayList<>(checks.size());
+        Set<String> grantedResourceIds = null;
+
+        for (AccessCheck check : checks) {
+            boolean allowed = index.hasResourcePermission(userId, check.getResource(), check.getAction());
+
+            if (!allowed && check.getResourceId() != null) {
+                if (grantedResourceIds == null) {
+                    grantedResourceIds = new HashSet<>(temporaryAccessRepository.findActiveResourceIds(
+                            userId, AccessStatus.APPROVED, LocalDateTime.now()));
+                }
+                allowed = grantedResourceIds.contains(check.getResourceId());
+            }
+
+            results.add(allowed);
         }
 
-        return false;
+        return results;
+    }
+
+    /**
+     * Get access decision cache counters
+     */
+    public Map<String, Object> getDecisionCacheStats() {
+        return accessDecisionCache.getStats();
+    }
+
+    private Optional<TemporaryAccess> findActiveGrant(Long userId, String resourceId) {
+        return temporaryAccessRepository.findFirstByUserIdAndResourceIdAndRevokedFalseAndStatusAndExpiresAtAfter(
+                userId, resourceId, AccessStatus.APPROVED, LocalDateTime.now());
+    }
+
+    /**
+     * Compute a decision; grants based on JIT access are only reusable until the grant expires
+     */
+    private AccessDecisionCache.Decision decide(Long userId, boolean hasPermission, String resourceId) {
+        long validUntil = accessDecisionCache.defaultValidUntil();
+        if (hasPermission) {
+            return new AccessDecisionCache.Decision(true, validUntil);
+        }
+
+        if (resourceId == null) {
+            return new AccessDecisionCache.Decision(false, validUntil);
+        }
+
+        Optional<TemporaryAccess> grant = findActiveGrant(userId, resourceId);
+        if (grant.isEmpty()) {
+            return new AccessDecisionCache.Decision(false, validUntil);
+        }
+
+        long grantExpiry = System.nanoTime() + Duration.between(LocalDateTime.now(), grant.get().getExpiresAt()).toNanos();
+        return new AccessDecisionCache.Decision(true, grantExpiry - validUntil < 0 ? grantExpiry : validUntil);
+    }
+
+    /**
+     * Get compiled authorization index counters
+     */
+    public Map<String, Object> getIndexStats() {
+        return authorizationIndexHolder.getStats();
+    }
+
+    /**
+     * Resolve a user's roles and permissions into an immutable request context
+     */
+    public AuthContext buildContext(Long userId) {
+        AuthorizationIndex index = authorizationIndexHolder.get();
+
+        Set<String> resourcePermissions = new HashSet<>();
+        for (String[] pair : index.resourceActions(userId)) {
+            resourcePermissions.add(AuthContext.resourceKey(pair[0], pair[1]));
+        }
+
+        return new AuthContext(
+                userId,
+                index.roleNames(userId),
+                index.permissionNames(userId),
+                resourcePermissions,
+                index.organizationalLevel(userId));
     }
 }
@@ -0,0 +1,69 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashes in the standard unprefixed "$2a$cost$..." form
+ */
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+    public static final int DEFAULT_STRENGTH = 12;
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$.{53}$");
+
+    private final int strength;
+    private final BCryptPasswordEncoder encoder;
+
+    public BCryptPasswordHasher(int strength) {
+        this.strength = strength;
+        this.encoder = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Lowest strength whose verification takes at least the target time.
+     * Starts at the default, so a fast host never ends up below the existing hashes' cost
+     */
+    public static BCryptPasswordHasher calibrated(long targetMillis) {
+        BCryptPasswordHasher hasher = new BCryptPasswordHasher(DEFAULT_STRENGTH);
+        while (hasher.strength < MAX_STRENGTH && PasswordHasher.measureMillis(hasher) < targetMillis) {
+            hasher = new BCryptPasswordHasher(hasher.strength + 1);
+        }
+        return hasher;
+    }
+
+    @Override
+    public String id() {
+        return "bcrypt";
+    }
+
+    @Override
+    public String parameters() {
+        return "strength=" + strength;
+    }
+
+    @Override
+    public boolean supports(String storedHash) {
+        return storedHash != null && BCRYPT.matcher(storedHash).matches();
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return encoder.encode(plainPassword);
+    }
+
+    @Override
+    public boolean matches(String plainPassword, String storedHash) {
+        return encoder.matches(plainPassword, storedHash);
+    }
+
+    @Override
+    public boolean isWeakerThanCurrent(String storedHash) {
+        Matcher matcher = BCRYPT.matcher(storedHash);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -0,0 +1,217 @@
+package infosec.securityimplementations.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local breached-password lookup.
+ * The corpus is a file of raw 20-byte SHA-1 digests sorted ascending. It is
+ * memory-mapped rather than loaded, so it stays off the heap, and searched with a
+ * binary search. A Bloom filter built on load answers most misses without touching
+ * the file. Digests are uniformly distributed, so the filter's probe positions are
+ * taken straight from the digest bytes.
+ * <p>
+ * The filter is the only part on the heap, so its size is capped. A corpus too large
+ * for the cap gets fewer bits per digest and fewer probes: more misses fall through to
+ * the binary search, but no breached password is missed.
+ */
+@Component
+@Slf4j
+public class BreachedPasswordChecker {
+
+    static final int RECORD_SIZE = 20;
+
+    // Largest whole number of records that fits in one mapping
+    private static final long RECORDS_PER_SEGMENT = Integer.MAX_VALUE / RECORD_SIZE;
+    private static final int MAX_BLOOM_PROBES = 7;
+
+    private final String corpusFile;
+    private final int bloomBitsPerEntry;
+    private final long bloomMaxBytes;
+
+    private List<MappedByteBuffer> segments = List.of();
+    private long records;
+    private long[] bloom;
+    private long bloomBits;
+    private int bloomProbes;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomRejects = new LongAdder();
+    private final LongAdder breached = new LongAdder();
+
+    public BreachedPasswordChecker(@Value("${password.breached.file:}") String corpusFile,
+                                   @Value("${password.breached.bloom-bits-per-entry:10}") int bloomBitsPerEntry,
+                                   @Value("${password.breached.bloom-max-size:64MB}") DataSize bloomMaxSize) {
+        this.corpusFile = corpusFile;
+        this.bloomBitsPerEntry = bloomBitsPerEntry;
+        this.bloomMaxBytes = bloomMaxSize.toBytes();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (corpusFile == null || corpusFile.isBlank()) {
+            log.info("No breached-password corpus configured; breach check disabled");
+            return;
+        }
+
+        Path path = Path.of(corpusFile);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new IllegalStateException("Breached-password corpus is not a multiple of "
+                        + RECORD_SIZE + " bytes: " + path);
+            }
+
+            List<MappedByteBuffer> mapped = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += RECORDS_PER_SEGMENT * RECORD_SIZE) {
+                long length = Math.min(RECORDS_PER_SEGMENT * RECORD_SIZE, size - offset);
+                mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+            segments = mapped;
+            records = size / RECORD_SIZE;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map breached-password corpus " + path, e);
+        }
+
+        buildBloomFilter();
+        log.info("Breached-password corpus mapped: {} digests, {} KiB Bloom filter, {} probes",
+                records, bloom.length * 8L / 1024, bloomProbes);
+    }
+
+    public boolean isEnabled() {
+        return records > 0;
+    }
+
+    /**
+     * Whether the password's SHA-1 digest appears in the corpus
+     */
+    public boolean isBreached(String password) {
+        if (!isEnabled()) {
+            return false;
+        }
+        checks.increment();
+
+        byte[] digest = sha1(password);
+        if (!mightContain(digest)) {
+            bloomRejects.increment();
+            return false;
+        }
+
+        boolean found = binarySearch(digest);
+        if (found) {
+            breached.increment();
+        }
+        return found;
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", isEnabled(),
+                "records", records,
+                "bloomBytes", bloom == null ? 0L : bloom.length * 8L,
+                "checks", checks.sum(),
+                "bloomRejects", bloomRejects.sum(),
+                "breached", breached.sum());
+    }
+
+    private void buildBloomFilter() {
+        long maxWords = Math.clamp(bloomMaxBytes / 8, 1, Integer.MAX_VALUE - 8);
+        long bits = Math.max(64, records * bloomBitsPerEntry);
+        bloom = new long[(int) Math.min(maxWords, (bits + 63) >>> 6)];
+        bloomBits = bloom.length * 64L;
+        // Optimal probe count for the bits each digest actually gets, ln 2 per bit
+        bloomProbes = (int) Math.clamp(Math.round((double) bloomBits / records * Math.log(2)), 1, MAX_BLOOM_PROBES);
+
+        byte[] digest = new byte[RECORD_SIZE];
+        for (long record = 0; record < records; record++) {
+            read(record, digest);
+            long h1 = readLong(digest, 0);
+            long h2 = readLong(digest, 8);
+            for (int probe = 0; probe < bloomProbes; probe++) {
+                long bit = Long.remainderUnsigned(h1 + probe * h2, bloomBits);
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+    }
+
+    private boolean mightContain(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int probe = 0; probe < bloomProbes; probe++) {
+            long bit = Long.remainderUnsigned(h1 + probe * h2, bloomBits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean binarySearch(byte[] digest) {
+        long low = 0;
+        long high = records - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = compare(mid, digest);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compare a record with a digest as unsigned bytes, reading the mapping in place
+     */
+    private int compare(long record, byte[] digest) {
+        MappedByteBuffer segment = segments.get((int) (record / RECORDS_PER_SEGMENT));
+        int base = (int) (record % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            int cmp = Integer.compare(segment.get(base + i) & 0xff, digest[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private void read(long record, byte[] target) {
+        MappedByteBuffer segment = segments.get((int) (record / RECORDS_PER_SEGMENT));
+        segment.get((int) (record % RECORDS_PER_SEGMENT) * RECORD_SIZE, target);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    static byte[] sha1(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package infosec.securityimplementations.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Transport that simulates sending emails by outputting to console
+ * This avoids the need for SMTP configuration during development/testing
+ */
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "console", matchIfMissing = true)
+@Slf4j
+public class ConsoleMailTransport implements MailTransport {
+
+    @Override
+    public void send(List<MailMessage> batch) {
+        String border = "═".repeat(60);
+        for (MailMessage message : batch) {
+            log.info(border);
+            log.info("📧 EMAIL SIMULATION - {}", message.purpose());
+            log.info(border);
+            log.info("To: {}", message.to());
+            log.info("Subject: Your Verification Code");
+            log.info("");
+            log.info("🔐 Your verification code is: {}", message.code());
+            log.info("");
+            log.info("⏱️ This code will expire in 10 minutes.");
+            log.info(border);
+        }
+    }
+}
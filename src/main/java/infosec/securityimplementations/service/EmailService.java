@@ -1,31 +1,21 @@
 package infosec.securityimplementations.service;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
- * Email service that simulates sending emails by outputting to console
- * This avoids the need for SMTP configuration during development/testing
+ * Email service for verification codes
+ * Messages are written to the outbox in the caller's transaction and delivered
+ * after it commits, off the request thread
  */
 @Service
-@Slf4j
+@RequiredArgsConstructor
 public class EmailService {
 
-    /**
-     * Simulate sending verification code email by printing to console
-     */
+    private final MailOutbox mailOutbox;
+
     void sendVerificationCode(String email, String code, String purpose) {
-        String border = "═".repeat(60);
-        log.info(border);
-        log.info("📧 EMAIL SIMULATION - {}", purpose);
-        log.info(border);
-        log.info("To: {}", email);
-        log.info("Subject: Your Verification Code");
-        log.info("");
-        log.info("🔐 Your verification code is: {}", code);
-        log.info("");
-        log.info("⏱️ This code will expire in 10 minutes.");
-        log.info(border);
+        mailOutbox.publish(email, code, purpose);
     }
 
     /**
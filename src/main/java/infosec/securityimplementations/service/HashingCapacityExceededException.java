@@ -0,0 +1,17 @@
+package infosec.securityimplementations.service;
+
+import lombok.Getter;
+
+/**
+ * Raised when the password hashing pool cannot take more work right now
+ */
+@Getter
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public HashingCapacityExceededException(int retryAfterSeconds) {
+        super("Server is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,101 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.VerificationCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default code store, kept in memory.
+ * Entries are keyed by (userId, type), so a new code replaces the old one, and every
+ * check runs atomically inside the map's per-bin lock. Expired entries are dropped
+ * on access and by a periodic sweep. Codes are lost on restart and not shared between
+ * nodes: the outbox relay drops mail for codes issued before this store started, and
+ * the jpa store is the one to use when codes must be shared.
+ */
+@Component
+@ConditionalOnProperty(name = "verification.code.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private record Key(Long userId, VerificationCode.CodeType type) {
+    }
+
+    private record Entry(String code, LocalDateTime expiresAt, int failedAttempts) {
+    }
+
+    private final Map<Key, Entry> codes = new ConcurrentHashMap<>();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final int maxAttempts;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder lockedOut = new LongAdder();
+
+    public InMemoryVerificationCodeStore(@Value("${verification.code.max-attempts:5}") int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void store(Long userId, VerificationCode.CodeType type, String code, LocalDateTime expiresAt) {
+        codes.put(new Key(userId, type), new Entry(code, expiresAt, 0));
+    }
+
+    @Override
+    public boolean verify(Long userId, VerificationCode.CodeType type, String code) {
+        boolean[] matched = new boolean[1];
+
+        codes.computeIfPresent(new Key(userId, type), (key, entry) -> {
+            if (LocalDateTime.now().isAfter(entry.expiresAt())) {
+                return null;
+            }
+            if (matches(entry.code(), code)) {
+                matched[0] = true;
+                return null;
+            }
+            int failedAttempts = entry.failedAttempts() + 1;
+            if (failedAttempts >= maxAttempts) {
+                lockedOut.increment();
+                return null;
+            }
+            return new Entry(entry.code(), entry.expiresAt(), failedAttempts);
+        });
+
+        (matched[0] ? verified : rejected).increment();
+        return matched[0];
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "store", "memory",
+                "outstanding", codes.size(),
+                "verified", verified.sum(),
+                "rejected", rejected.sum(),
+                "lockedOut", lockedOut.sum());
+    }
+
+    @Override
+    public Optional<LocalDateTime> heldSince() {
+        return Optional.of(startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${verification.code.sweep-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        codes.values().removeIf(entry -> now.isAfter(entry.expiresAt()));
+    }
+
+    static boolean matches(String expected, String submitted) {
+        return submitted != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), submitted.getBytes(StandardCharsets.UTF_8));
+    }
+}
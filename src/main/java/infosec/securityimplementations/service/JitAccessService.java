@@ -1,19 +1,24 @@
 package infosec.securityimplementations.service;
 
+import infosec.securityimplementations.dto.AccessResults.AccessList;
+import infosec.securityimplementations.dto.AccessResults.AccessRequested;
+import infosec.securityimplementations.dto.AccessResults.PendingRequests;
+import infosec.securityimplementations.dto.AccessResults.ResourceAccessStatus;
 import infosec.securityimplementations.dto.JitAccessRequest;
+import infosec.securityimplementations.dto.ServiceResult;
 import infosec.securityimplementations.entity.TemporaryAccess;
 import infosec.securityimplementations.repository.TemporaryAccessRepository;
+import infosec.securityimplementations.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,8 +30,29 @@ import java.util.Optional;
 @Slf4j
 public class JitAccessService {
 
+    private static final ServiceResult.Failure<AccessRequested> ALREADY_ACTIVE =
+            ServiceResult.failure("You already have active access to this resource");
+    private static final ServiceResult.Failure<AccessRequested> DENIED_BY_POLICY =
+            ServiceResult.failure("Access request denied by policy");
+    private static final ServiceResult.Failure<Void> APPROVE_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can approve requests");
+    private static final ServiceResult.Failure<Void> REJECT_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can reject requests");
+    private static final ServiceResult.Failure<Void> REQUEST_NOT_FOUND =
+            ServiceResult.failure("Access request not found");
+    private static final ServiceResult.Failure<Void> NOT_PENDING =
+            ServiceResult.failure("Request is not in PENDING state");
+    private static final ServiceResult.Failure<Void> RECORD_NOT_FOUND = ServiceResult.failure("Access record not found");
+    private static final ServiceResult.Failure<Void> REVOKE_NOT_PERMITTED =
+            ServiceResult.failure("You don't have permission to revoke this access");
+    private static final ServiceResult.Failure<PendingRequests> PENDING_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can view pending requests");
+    private static final ResourceAccessStatus NO_ACCESS =
+            new ResourceAccessStatus(false, "No active access to this resource", null, null);
+
     private final TemporaryAccessRepository temporaryAccessRepository;
-    private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccessExpiryScheduler accessExpiryScheduler;
 
     @Value("${jit.access.default.duration.minutes:15}")
     private int defaultDurationMinutes;
@@ -40,29 +66,24 @@ public class JitAccessService {
      * 4. Access is revoked after completion or expiration
      */
     @Transactional
-    public Map<String, Object> requestAccess(Long userId, JitAccessRequest request) {
-        Map<String, Object> result = new HashMap<>();
+    public ServiceResult<AccessRequested> requestAccess(AuthContext requester, JitAccessRequest request) {
+        Long userId = requester.userId();
 
         // Check if user already has active temporary access to this resource
         Optional<TemporaryAccess> existingAccess = temporaryAccessRepository
                 .findByUserIdAndResourceIdAndRevokedFalse(userId, request.getResourceId());
 
         if (existingAccess.isPresent() && existingAccess.get().isActive()) {
-            result.put("success", false);
-            result.put("message", "You already have active access to this resource");
-            result.put("expiresAt", existingAccess.get().getExpiresAt());
-            return result;
+            return ALREADY_ACTIVE;
         }
 
         // Evaluate policy - for this implementation, we'll grant access if user is
         // authenticated
         // In a real system, this would involve complex policy evaluation
-        boolean policyApproved = evaluateAccessPolicy(userId, request);
+        boolean policyApproved = evaluateAccessPolicy(requester, request);
 
         if (!policyApproved) {
-            result.put("success", false);
-            result.put("message", "Access request denied by policy");
-            return result;
+            return DENIED_BY_POLICY;
         }
 
         // Determine duration
@@ -84,16 +105,9 @@ public class JitAccessService {
         access = temporaryAccessRepository.save(access);
         log.info("Temporary access requested by user {} for resource {}", userId, request.getResourceId());
 
-        result.put("success", true);
-        result.put("message", "Access request submitted and pending approval");
-        result.put("access", Map.of(
-                "id", access.getId(),
-                "resourceId", access.getResourceId(),
-                "resourceType", access.getResourceType(),
-                "status", access.getStatus(),
-                "durationMinutes", durationMinutes));
-
-        return result;
+        return ServiceResult.success("Access request submitted and pending approval",
+                new AccessRequested(new AccessRequested.Access(access.getId(), access.getResourceId(),
+                        access.getResourceType(), access.getStatus(), durationMinutes)));
     }
 
     /**
@@ -105,37 +119,29 @@ public class JitAccessService {
      * - Approval workflows
      * - Compliance checks
      */
-    private boolean evaluateAccessPolicy(Long userId, JitAccessRequest request) {
+    private boolean evaluateAccessPolicy(AuthContext requester, JitAccessRequest request) {
         // For this implementation, grant access if user has at least USER role
-        return authorizationService.hasOrganizationalRoleLevel(userId, "USER");
+        return requester.hasOrganizationalRoleLevel("USER");
     }
 
     /**
      * Approve access request
      */
     @Transactional
-    public Map<String, Object> approveRequest(Long accessId, Long adminId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> approveRequest(Long accessId, AuthContext admin) {
         // Verify admin role
-        if (!authorizationService.hasRole(adminId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Only admins can approve requests");
-            return result;
+        if (!admin.hasRole("ADMIN")) {
+            return APPROVE_REQUIRES_ADMIN;
         }
 
         Optional<TemporaryAccess> accessOpt = temporaryAccessRepository.findById(accessId);
         if (accessOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Access request not found");
-            return result;
+            return REQUEST_NOT_FOUND;
         }
 
         TemporaryAccess access = accessOpt.get();
         if (access.getStatus() != infosec.securityimplementations.entity.AccessStatus.PENDING) {
-            result.put("success", false);
-            result.put("message", "Request is not in PENDING state");
-            return result;
+            return NOT_PENDING;
         }
 
         // Activate access
@@ -144,155 +150,117 @@ public class JitAccessService {
         access.setExpiresAt(LocalDateTime.now().plusMinutes(access.getDurationMinutes()));
 
         temporaryAccessRepository.save(access);
-        log.info("Access request {} approved by admin {}", accessId, adminId);
+        // Harmless if this transaction rolls back: expiry only touches rows still APPROVED
+        accessExpiryScheduler.schedule(access.getId(), access.getUserId(), access.getExpiresAt());
+        eventPublisher.publishEvent(new UserAccessChangedEvent(access.getUserId()));
+        log.info("Access request {} approved by admin {}", accessId, admin.userId());
 
-        result.put("success", true);
-        result.put("message", "Access approved successfully");
-        return result;
+        return ServiceResult.success("Access approved successfully");
     }
 
     /**
      * Reject access request
      */
     @Transactional
-    public Map<String, Object> rejectRequest(Long accessId, Long adminId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> rejectRequest(Long accessId, AuthContext admin) {
         // Verify admin role
-        if (!authorizationService.hasRole(adminId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Only admins can reject requests");
-            return result;
+        if (!admin.hasRole("ADMIN")) {
+            return REJECT_REQUIRES_ADMIN;
         }
 
         Optional<TemporaryAccess> accessOpt = temporaryAccessRepository.findById(accessId);
         if (accessOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Access request not found");
-            return result;
+            return REQUEST_NOT_FOUND;
         }
 
         TemporaryAccess access = accessOpt.get();
         access.setStatus(infosec.securityimplementations.entity.AccessStatus.REJECTED);
 
         temporaryAccessRepository.save(access);
-        log.info("Access request {} rejected by admin {}", accessId, adminId);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(access.getUserId()));
+        log.info("Access request {} rejected by admin {}", accessId, admin.userId());
 
-        result.put("success", true);
-        result.put("message", "Access rejected");
-        return result;
+        return ServiceResult.success("Access rejected");
     }
 
     /**
      * Manually revoke temporary access
      */
     @Transactional
-    public Map<String, Object> revokeAccess(Long accessId, Long requestingUserId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> revokeAccess(Long accessId, AuthContext requester) {
         Optional<TemporaryAccess> accessOpt = temporaryAccessRepository.findById(accessId);
         if (accessOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Access record not found");
-            return result;
+            return RECORD_NOT_FOUND;
         }
 
         TemporaryAccess access = accessOpt.get();
 
         // Check if requesting user is the owner or an admin
-        boolean isOwner = access.getUserId().equals(requestingUserId);
-        boolean isAdmin = authorizationService.hasRole(requestingUserId, "ADMIN");
+        boolean isOwner = access.getUserId().equals(requester.userId());
+        boolean isAdmin = requester.hasRole("ADMIN");
 
         if (!isOwner && !isAdmin) {
-            result.put("success", false);
-            result.put("message", "You don't have permission to revoke this access");
-            return result;
+            return REVOKE_NOT_PERMITTED;
         }
 
         access.setRevoked(true);
         temporaryAccessRepository.save(access);
-        log.info("Temporary access {} revoked by user {}", accessId, requestingUserId);
-
-        result.put("success", true);
-        result.put("message", "Access revoked successfully");
+        eventPublisher.publishEvent(new UserAccessChangedEvent(access.getUserId()));
+        log.info("Temporary access {} revoked by user {}", accessId, requester.userId());
 
-        return result;
+        return ServiceResult.success("Access revoked successfully");
     }
 
     /**
      * Get all temporary access grants for a user
      */
-    public Map<String, Object> getUserAccess(Long userId) {
-        Map<String, Object> result = new HashMap<>();
-
-        List<TemporaryAccess> accessList = temporaryAccessRepository.findByUserIdAndRevokedFalse(userId);
-
-        result.put("success", true);
-        result.put("accessList", accessList);
-
-        return result;
+    public AccessList getUserAccess(Long userId) {
+        return new AccessList(temporaryAccessRepository.findByUserIdAndRevokedFalse(userId));
     }
 
     /**
      * Check access status for a specific resource
      */
-    public Map<String, Object> checkAccessStatus(Long userId, String resourceId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ResourceAccessStatus checkAccessStatus(Long userId, String resourceId) {
         Optional<TemporaryAccess> accessOpt = temporaryAccessRepository
                 .findByUserIdAndResourceIdAndRevokedFalse(userId, resourceId);
 
         if (accessOpt.isEmpty()) {
-            result.put("hasAccess", false);
-            result.put("message", "No active access to this resource");
-            return result;
+            return NO_ACCESS;
         }
 
         TemporaryAccess access = accessOpt.get();
-        boolean isActive = access.isActive();
-
-        result.put("hasAccess", isActive);
-        result.put("access", access);
-        result.put("isExpired", access.isExpired());
-
-        return result;
+        return new ResourceAccessStatus(access.isActive(), null, access, access.isExpired());
     }
 
     /**
      * Get all pending access requests (for admins)
      */
-    public Map<String, Object> getPendingRequests(Long adminId) {
-        Map<String, Object> result = new HashMap<>();
-
-        if (!authorizationService.hasRole(adminId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Only admins can view pending requests");
-            return result;
+    public ServiceResult<PendingRequests> getPendingRequests(AuthContext admin) {
+        if (!admin.hasRole("ADMIN")) {
+            return PENDING_REQUIRES_ADMIN;
         }
 
         List<TemporaryAccess> pendingRequests = temporaryAccessRepository
                 .findByStatus(infosec.securityimplementations.entity.AccessStatus.PENDING);
 
-        result.put("success", true);
-        result.put("requests", pendingRequests);
-
-        return result;
+        return ServiceResult.success("Pending requests retrieved", new PendingRequests(pendingRequests));
     }
 
     /**
-     * Scheduled task to clean up expired access
-     * Runs every 5 minutes
+     * Reconciliation sweep for expired access
+     * Expiry normally happens on time through the AccessExpiryScheduler; this catches
+     * grants approved on other nodes. Runs hourly by default.
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedRateString = "${jit.access.expiry.sweep-ms:3600000}")
     @Transactional
     public void cleanupExpiredAccess() {
-        List<TemporaryAccess> expiredAccess = temporaryAccessRepository
-                .findExpiredAccess(LocalDateTime.now());
+        int revoked = temporaryAccessRepository.revokeExpired(LocalDateTime.now(),
+                infosec.securityimplementations.entity.AccessStatus.APPROVED,
+                infosec.securityimplementations.entity.AccessStatus.EXPIRED);
 
-        if (!expiredAccess.isEmpty()) {
-            expiredAccess.forEach(access -> access.setRevoked(true));
-            temporaryAccessRepository.saveAll(expiredAccess);
-            log.info("Cleaned up {} expired temporary access grants", expiredAccess.size());
+        if (revoked > 0) {
+            log.info("Cleaned up {} expired temporary access grants", revoked);
         }
     }
 }
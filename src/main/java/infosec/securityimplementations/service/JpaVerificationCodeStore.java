@@ -0,0 +1,82 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.VerificationCode;
+import infosec.securityimplementations.repository.VerificationCodeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Code store backed by the verification_codes table, for deployments where codes
+ * must survive restarts or be shared between nodes. Codes are written in the same
+ * transaction as their outbox message.
+ */
+@Component
+@ConditionalOnProperty(name = "verification.code.store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaVerificationCodeStore implements VerificationCodeStore {
+
+    private final VerificationCodeRepository verificationCodeRepository;
+
+    @Value("${verification.code.max-attempts:5}")
+    private int maxAttempts;
+
+    @Override
+    @Transactional
+    public void store(Long userId, VerificationCode.CodeType type, String code, LocalDateTime expiresAt) {
+        verificationCodeRepository.supersede(userId, type);
+
+        verificationCodeRepository.save(VerificationCode.builder()
+                .userId(userId)
+                .code(code)
+                .type(type)
+                .expiresAt(expiresAt)
+                .used(false)
+                .failedAttempts(0)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public boolean verify(Long userId, VerificationCode.CodeType type, String code) {
+        Optional<VerificationCode> optionalCode = verificationCodeRepository
+                .findFirstByUserIdAndTypeAndUsedFalseOrderByIdDesc(userId, type);
+
+        if (optionalCode.isEmpty()) {
+            return false;
+        }
+
+        VerificationCode verificationCode = optionalCode.get();
+
+        // Check if code is expired
+        if (LocalDateTime.now().isAfter(verificationCode.getExpiresAt())) {
+            return false;
+        }
+
+        if (!InMemoryVerificationCodeStore.matches(verificationCode.getCode(), code)) {
+            int failedAttempts = (verificationCode.getFailedAttempts() != null
+                    ? verificationCode.getFailedAttempts() : 0) + 1;
+            verificationCode.setFailedAttempts(failedAttempts);
+            // Too many wrong guesses burn the code
+            verificationCode.setUsed(failedAttempts >= maxAttempts);
+            verificationCodeRepository.save(verificationCode);
+            return false;
+        }
+
+        // Mark code as used
+        verificationCode.setUsed(true);
+        verificationCodeRepository.save(verificationCode);
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("store", "jpa");
+    }
+}
@@ -0,0 +1,9 @@
+package infosec.securityimplementations.service;
+
+import java.util.List;
+
+/**
+ * Published by the MailDispatcher once a batch was delivered, or given up on
+ */
+public record MailDeliveryEvent(List<MailMessage> messages, boolean delivered) {
+}
@@ -0,0 +1,167 @@
+package infosec.securityimplementations.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous mail delivery.
+ * Messages enqueued inside a transaction are released only after it commits, so a
+ * code is never mailed for a row that was rolled back and the transaction never
+ * waits on the mail server. Worker threads drain the bounded queue in batches, one
+ * transport connection per batch, and failed batches are retried with exponential
+ * backoff; when the transport reports which messages failed, only those are retried.
+ * Every outcome is published as a {@link MailDeliveryEvent}.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private final MailTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<MailMessage> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean running = true;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public MailDispatcher(MailTransport transport,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${mail.dispatch.workers:2}") int workerCount,
+                          @Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity,
+                          @Value("${mail.dispatch.batch-size:50}") int batchSize,
+                          @Value("${mail.dispatch.max-attempts:5}") int maxAttempts,
+                          @Value("${mail.dispatch.initial-backoff-ms:500}") long initialBackoffMillis,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+
+        // Workers block on the queue and the mail server, so they can run as virtual threads
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(threads.name("mail-retry").factory());
+        threads.name("mail-dispatch-", 1);
+        for (int i = 1; i <= workerCount; i++) {
+            workers.add(threads.start(this::drain));
+        }
+    }
+
+    /**
+     * Queue a message, after the current transaction commits if there is one
+     */
+    public void enqueue(MailMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(message);
+                }
+            });
+        } else {
+            offer(message);
+        }
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "queued", queue.size(),
+                "sent", sent.sum(),
+                "batches", batches.sum(),
+                "retries", retries.sum(),
+                "failed", failed.sum(),
+                "dropped", dropped.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        retryScheduler.shutdownNow();
+    }
+
+    private void offer(MailMessage message) {
+        if (!queue.offer(message)) {
+            // Outbox-backed messages are picked up again once their claim expires
+            dropped.increment();
+            log.warn("Mail queue full, dropping message to {}", message.to());
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                List<MailMessage> batch = new ArrayList<>(batchSize);
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch, 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(List<MailMessage> batch, int attempt) {
+        try {
+            transport.send(batch);
+        } catch (PartialDeliveryException e) {
+            List<MailMessage> failedMessages = e.getFailedMessages();
+            List<MailMessage> delivered = batch.stream()
+                    .filter(message -> failedMessages.stream().noneMatch(failedMessage -> failedMessage == message))
+                    .toList();
+            if (!delivered.isEmpty()) {
+                sent.add(delivered.size());
+                eventPublisher.publishEvent(new MailDeliveryEvent(delivered, true));
+            }
+            retryOrGiveUp(failedMessages, attempt, e);
+            return;
+        } catch (Exception e) {
+            retryOrGiveUp(batch, attempt, e);
+            return;
+        }
+
+        sent.add(batch.size());
+        batches.increment();
+        eventPublisher.publishEvent(new MailDeliveryEvent(batch, true));
+    }
+
+    private void retryOrGiveUp(List<MailMessage> batch, int attempt, Exception e) {
+        if (attempt >= maxAttempts || !running) {
+            failed.add(batch.size());
+            log.error("Giving up on {} messages after {} attempts", batch.size(), attempt, e);
+            eventPublisher.publishEvent(new MailDeliveryEvent(batch, false));
+            return;
+        }
+        long backoff = initialBackoffMillis << (attempt - 1);
+        retries.increment();
+        log.warn("Mail delivery attempt {} failed for {} messages, retrying in {} ms: {}",
+                attempt, batch.size(), backoff, e.getMessage());
+        retryScheduler.schedule(() -> deliver(batch, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+    }
+}
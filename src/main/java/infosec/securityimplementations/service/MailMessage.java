@@ -0,0 +1,9 @@
+package infosec.securityimplementations.service;
+
+/**
+ * A verification code email waiting for delivery
+ *
+ * @param outboxId id of the durable outbox row backing this message, if any
+ */
+public record MailMessage(Long outboxId, String to, String code, String purpose) {
+}
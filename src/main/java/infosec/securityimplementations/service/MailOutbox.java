@@ -0,0 +1,201 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.OutboxMessage;
+import infosec.securityimplementations.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for security mail.
+ * Messages are written in the caller's transaction, so they exist if and only if the
+ * data they announce was committed. The writing node claims its own message and hands
+ * it to the {@link MailDispatcher} after commit; if that node dies before the message
+ * is marked sent, the claim lapses and any node's relay claims and resends it.
+ * Messages whose code the {@link VerificationCodeStore} can no longer hold - issued
+ * before an in-memory store was started - are marked failed instead of resent.
+ */
+@Component
+@Slf4j
+public class MailOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MailDispatcher mailDispatcher;
+    private final VerificationCodeStore verificationCodeStore;
+    private final long leaseSeconds;
+    private final int batchSize;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final RateWindow sentRate = new RateWindow();
+
+    public MailOutbox(OutboxMessageRepository outboxMessageRepository,
+                      MailDispatcher mailDispatcher,
+                      VerificationCodeStore verificationCodeStore,
+                      @Value("${outbox.relay.lease-seconds:300}") long leaseSeconds,
+                      @Value("${outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailDispatcher = mailDispatcher;
+        this.verificationCodeStore = verificationCodeStore;
+        this.leaseSeconds = leaseSeconds;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Record a message in the current transaction and deliver it once that commits
+     */
+    @Transactional
+    public void publish(String recipient, String payload, String purpose) {
+        OutboxMessage message = outboxMessageRepository.save(OutboxMessage.builder()
+                .recipient(recipient)
+                .payload(payload)
+                .purpose(purpose)
+                .status(OutboxMessage.Status.PENDING)
+                .claimToken(UUID.randomUUID().toString())
+                .claimedUntil(LocalDateTime.now().plusSeconds(leaseSeconds))
+                .build());
+        published.increment();
+
+        mailDispatcher.enqueue(new MailMessage(message.getId(), recipient, payload, purpose));
+    }
+
+    /**
+     * Claim messages without a live claim - never handed off, or orphaned by a dead node -
+     * and dispatch them, batch by batch, while the dispatcher has room
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-ms:5000}")
+    public void relay() {
+        while (mailDispatcher.remainingCapacity() >= batchSize) {
+            String token = UUID.randomUUID().toString();
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = outboxMessageRepository.claimBatch(token, now, now.plusSeconds(leaseSeconds), batchSize);
+            if (claimed == 0) {
+                return;
+            }
+
+            List<OutboxMessage> messages = discardLostCodes(outboxMessageRepository
+                    .findByClaimTokenAndStatus(token, OutboxMessage.Status.PENDING));
+            messages.forEach(message -> mailDispatcher.enqueue(new MailMessage(
+                    message.getId(), message.getRecipient(), message.getPayload(), message.getPurpose())));
+            reclaimed.add(messages.size());
+            log.info("Outbox relay claimed {} messages", messages.size());
+
+            if (claimed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fail messages whose code the store lost, and return the ones still worth sending
+     */
+    private List<OutboxMessage> discardLostCodes(List<OutboxMessage> messages) {
+        Optional<LocalDateTime> heldSince = verificationCodeStore.heldSince();
+        if (heldSince.isEmpty()) {
+            return messages;
+        }
+
+        Set<Long> lost = messages.stream()
+                .filter(message -> message.getCreatedAt().isBefore(heldSince.get()))
+                .map(OutboxMessage::getId)
+                .collect(Collectors.toSet());
+        if (lost.isEmpty()) {
+            return messages;
+        }
+        discarded.add(outboxMessageRepository.complete(List.copyOf(lost), OutboxMessage.Status.FAILED, null));
+        log.warn("Outbox relay discarded {} messages with codes issued before the code store started", lost.size());
+        return messages.stream()
+                .filter(message -> !lost.contains(message.getId()))
+                .toList();
+    }
+
+    @EventListener
+    public void onDelivery(MailDeliveryEvent event) {
+        List<Long> ids = event.messages().stream()
+                .map(MailMessage::outboxId)
+                .filter(id -> id != null)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        if (event.delivered()) {
+            int updated = outboxMessageRepository.complete(ids, OutboxMessage.Status.SENT, LocalDateTime.now());
+            sent.add(updated);
+            sentRate.add(updated);
+        } else {
+            failed.add(outboxMessageRepository.complete(ids, OutboxMessage.Status.FAILED, null));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "backlog", outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING),
+                "published", published.sum(),
+                "reclaimed", reclaimed.sum(),
+                "sent", sent.sum(),
+                "failed", failed.sum(),
+                "discarded", discarded.sum(),
+                "sentPerSecondLastMinute", sentRate.perSecond());
+    }
+
+    /**
+     * Events per second over the last minute, in one-second buckets
+     */
+    private static final class RateWindow {
+
+        private static final int SECONDS = 60;
+
+        private final long[] counts = new long[SECONDS];
+        private final long[] stamps = new long[SECONDS];
+        // A lock rather than a monitor, so contended virtual threads unmount instead of pinning
+        private final ReentrantLock lock = new ReentrantLock();
+
+        void add(long count) {
+            long second = System.currentTimeMillis() / 1000;
+            int slot = (int) (second % SECONDS);
+            lock.lock();
+            try {
+                if (stamps[slot] != second) {
+                    stamps[slot] = second;
+                    counts[slot] = 0;
+                }
+                counts[slot] += count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double perSecond() {
+            long now = System.currentTimeMillis() / 1000;
+            long total = 0;
+            lock.lock();
+            try {
+                for (int slot = 0; slot < SECONDS; slot++) {
+                    if (now - stamps[slot] < SECONDS) {
+                        total += counts[slot];
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return total / (double) SECONDS;
+        }
+    }
+}
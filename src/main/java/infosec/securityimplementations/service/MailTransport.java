@@ -0,0 +1,14 @@
+package infosec.securityimplementations.service;
+
+import java.util.List;
+
+/**
+ * Delivers mail. A batch is sent over one connection. A transport that knows which
+ * messages failed throws {@link PartialDeliveryException} so only those are retried;
+ * any other failure fails the whole batch.
+ */
+@FunctionalInterface
+public interface MailTransport {
+
+    void send(List<MailMessage> batch) throws Exception;
+}
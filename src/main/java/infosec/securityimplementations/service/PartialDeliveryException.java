@@ -0,0 +1,19 @@
+package infosec.securityimplementations.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Raised by a {@link MailTransport} when only some messages of a batch could not be sent
+ */
+@Getter
+public class PartialDeliveryException extends Exception {
+
+    private final List<MailMessage> failedMessages;
+
+    public PartialDeliveryException(List<MailMessage> failedMessages, Throwable cause) {
+        super(failedMessages.size() + " message(s) of the batch failed", cause);
+        this.failedMessages = List.copyOf(failedMessages);
+    }
+}
@@ -0,0 +1,45 @@
+package infosec.securityimplementations.service;
+
+/**
+ * A password hashing scheme with its current cost parameters.
+ * Stored hashes are self-describing, so any hasher of the same scheme can verify
+ * hashes produced with older parameters.
+ */
+public interface PasswordHasher {
+
+    String SAMPLE_PASSWORD = "calibration-Sample-123";
+
+    /**
+     * Scheme identifier, e.g. "bcrypt"
+     */
+    String id();
+
+    /**
+     * Human readable current cost parameters
+     */
+    String parameters();
+
+    /**
+     * Whether a stored hash was produced by this scheme
+     */
+    boolean supports(String storedHash);
+
+    String hash(String plainPassword);
+
+    boolean matches(String plainPassword, String storedHash);
+
+    /**
+     * Whether a stored hash of this scheme uses weaker parameters than the current ones
+     */
+    boolean isWeakerThanCurrent(String storedHash);
+
+    /**
+     * Time one verification with the current parameters
+     */
+    static long measureMillis(PasswordHasher hasher) {
+        String hash = hasher.hash(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        hasher.matches(SAMPLE_PASSWORD, hash);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
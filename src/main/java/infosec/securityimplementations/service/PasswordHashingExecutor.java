@@ -0,0 +1,134 @@
+package infosec.securityimplementations.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated, bounded pool for password hashing.
+ * Hashing is deliberately CPU-heavy; running it on a fixed number of threads with
+ * a bounded queue keeps a login flood from starving the request threads that serve
+ * everything else. A caller first waits for one of the pool's slots: when the queue
+ * of waiting callers is full, or no slot frees up within max-wait-ms, the call fails
+ * fast with {@link HashingCapacityExceededException}. Once admitted, a hash always
+ * runs to completion.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int queueCapacity;
+    private final long maxWaitMillis;
+    private final int retryAfterSeconds;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                   @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${password.hashing.max-wait-ms:5000}") long maxWaitMillis,
+                                   @Value("${password.hashing.retry-after-seconds:2}") int retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.slots = new Semaphore(poolSize, true);
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // Only callers holding a slot submit, so the work queue never holds more than poolSize tasks
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result
+     *
+     * @throws HashingCapacityExceededException if the queue is full or no slot freed up in time
+     */
+    public <T> T execute(Callable<T> task) {
+        acquireSlot();
+        try {
+            Future<T> future = executor.submit(task);
+            submitted.increment();
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new HashingCapacityExceededException(retryAfterSeconds);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void acquireSlot() {
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        }
+
+        long enqueuedAt = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!acquired) {
+            timedOut.increment();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        }
+        long waited = System.nanoTime() - enqueuedAt;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        started.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long startedCount = started.sum();
+        return Map.of(
+                "poolSize", executor.getMaximumPoolSize(),
+                "active", executor.getActiveCount(),
+                "queueDepth", waiting.get(),
+                "queueCapacity", queueCapacity,
+                "submitted", submitted.sum(),
+                "rejected", rejected.sum(),
+                "timedOut", timedOut.sum(),
+                "avgWaitMicros", startedCount == 0 ? 0.0 : waitNanos.sum() / 1000.0 / startedCount,
+                "maxWaitMicros", maxWaitNanos.get() / 1000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,44 +1,136 @@
 package infosec.securityimplementations.service;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
 @Service
 public class PasswordService {
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher currentHasher;
+    // Schemes able to verify stored hashes, current one first
+    private final List<PasswordHasher> hashers;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    public PasswordService(PasswordHashingExecutor hashingExecutor,
+                           BreachedPasswordChecker breachedPasswordChecker,
+                           @Value("${password.hashing.algorithm:bcrypt}") String algorithm,
+                           @Value("${password.hashing.target-ms:250}") long targetMillis) {
+        // Manual hashing implementation - not using Spring Security's auto-configuration
+        this.hashingExecutor = hashingExecutor;
+        this.breachedPasswordChecker = breachedPasswordChecker;
+        this.currentHasher = createHasher(algorithm, targetMillis);
+        this.hashers = new ArrayList<>(List.of(currentHasher,
+                new BCryptPasswordHasher(BCryptPasswordHasher.DEFAULT_STRENGTH),
+                new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.MIN_ITERATIONS)));
+        if (Argon2PasswordHasher.isAvailable()) {
+            hashers.add(new Argon2PasswordHasher(Argon2PasswordHasher.MIN_ITERATIONS));
+        }
+        log.info("Password hashing: {} ({})", currentHasher.id(), currentHasher.parameters());
+    }
 
-    public PasswordService() {
-        // Manual BCrypt implementation - not using Spring Security's auto-configuration
-        this.passwordEncoder = new BCryptPasswordEncoder(12);
+    /**
+     * Pick the configured scheme, calibrated to the target verification time when one is set
+     */
+    private static PasswordHasher createHasher(String algorithm, long targetMillis) {
+        boolean calibrate = targetMillis > 0;
+        switch (algorithm.toLowerCase()) {
+            case "pbkdf2":
+                return calibrate
+                        ? Pbkdf2PasswordHasher.calibrated(targetMillis)
+                        : new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.MIN_ITERATIONS);
+            case "argon2":
+                if (Argon2PasswordHasher.isAvailable()) {
+                    return calibrate
+                            ? Argon2PasswordHasher.calibrated(targetMillis)
+                            : new Argon2PasswordHasher(Argon2PasswordHasher.MIN_ITERATIONS);
+                }
+                log.warn("Argon2 requires BouncyCastle on the classpath; falling back to BCrypt");
+                // fall through
+            default:
+                return calibrate
+                        ? BCryptPasswordHasher.calibrated(targetMillis)
+                        : new BCryptPasswordHasher(BCryptPasswordHasher.DEFAULT_STRENGTH);
+        }
     }
 
     /**
-     * Manually hash a password using BCrypt
+     * Manually hash a password with the current scheme, on the bounded hashing pool
      */
     public String hashPassword(String plainPassword) {
-        return passwordEncoder.encode(plainPassword);
+        return hashingExecutor.execute(() -> currentHasher.hash(plainPassword));
     }
 
     /**
-     * Manually verify a password against its hash
+     * Manually verify a password against its hash, on the bounded hashing pool
      */
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        PasswordHasher hasher = hasherFor(hashedPassword);
+        return hasher != null && hashingExecutor.execute(() -> hasher.matches(plainPassword, hashedPassword));
+    }
+
+    /**
+     * Whether a stored hash uses another scheme or weaker parameters than the current ones
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return !currentHasher.supports(hashedPassword) || currentHasher.isWeakerThanCurrent(hashedPassword);
     }
 
     /**
-     * Manual password strength validation
+     * Get hashing scheme plus pool queue and wait-time counters
+     */
+    public Map<String, Object> getHashingStats() {
+        Map<String, Object> stats = new HashMap<>(hashingExecutor.getStats());
+        stats.put("algorithm", currentHasher.id());
+        stats.put("parameters", currentHasher.parameters());
+        stats.put("breachedPasswords", breachedPasswordChecker.getStats());
+        return stats;
+    }
+
+    private PasswordHasher hasherFor(String hashedPassword) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(hashedPassword)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Manual password strength validation, in a single pass without allocation
      */
     public boolean isPasswordStrong(String password) {
         if (password == null || password.length() < 6) {
             return false;
         }
 
-        boolean hasUpperCase = password.chars().anyMatch(Character::isUpperCase);
-        boolean hasLowerCase = password.chars().anyMatch(Character::isLowerCase);
-        boolean hasDigit = password.chars().anyMatch(Character::isDigit);
+        boolean hasUpperCase = false;
+        boolean hasLowerCase = false;
+        boolean hasDigit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            hasUpperCase |= Character.isUpperCase(c);
+            hasLowerCase |= Character.isLowerCase(c);
+            hasDigit |= Character.isDigit(c);
+            if (hasUpperCase && hasLowerCase && hasDigit) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 
-        return hasUpperCase && hasLowerCase && hasDigit;
+    /**
+     * Whether the password appears in the local breached-password corpus
+     */
+    public boolean isPasswordBreached(String password) {
+        return breachedPasswordChecker.isBreached(password);
     }
 }
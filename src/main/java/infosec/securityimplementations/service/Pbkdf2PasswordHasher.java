@@ -0,0 +1,86 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2-HMAC-SHA256 hashes stored as "{pbkdf2}iterations$hex".
+ * Spring's encoding does not record the iteration count, so it is kept in the prefix.
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    public static final int MIN_ITERATIONS = 600_000;
+
+    private static final String PREFIX = "{pbkdf2}";
+    private static final int SALT_LENGTH = 16;
+
+    private final int iterations;
+    // Encoders for older iteration counts, created on demand when verifying
+    private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Iteration count scaled from a single measurement to reach the target time
+     */
+    public static Pbkdf2PasswordHasher calibrated(long targetMillis) {
+        long measured = Math.max(1, PasswordHasher.measureMillis(new Pbkdf2PasswordHasher(MIN_ITERATIONS)));
+        long scaled = MIN_ITERATIONS * targetMillis / measured;
+        int iterations = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_ITERATIONS, scaled / 10_000 * 10_000));
+        return new Pbkdf2PasswordHasher(iterations);
+    }
+
+    @Override
+    public String id() {
+        return "pbkdf2";
+    }
+
+    @Override
+    public String parameters() {
+        return "iterations=" + iterations;
+    }
+
+    @Override
+    public boolean supports(String storedHash) {
+        return storedHash != null && storedHash.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return PREFIX + iterations + "$" + encoder(iterations).encode(plainPassword);
+    }
+
+    @Override
+    public boolean matches(String plainPassword, String storedHash) {
+        int separator = storedHash.indexOf('$', PREFIX.length());
+        if (!supports(storedHash) || separator < 0) {
+            return false;
+        }
+        int storedIterations = storedIterations(storedHash, separator);
+        return storedIterations > 0
+                && encoder(storedIterations).matches(plainPassword, storedHash.substring(separator + 1));
+    }
+
+    @Override
+    public boolean isWeakerThanCurrent(String storedHash) {
+        int separator = storedHash.indexOf('$', PREFIX.length());
+        return separator < 0 || storedIterations(storedHash, separator) < iterations;
+    }
+
+    private static int storedIterations(String storedHash, int separator) {
+        try {
+            return Integer.parseInt(storedHash.substring(PREFIX.length(), separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Pbkdf2PasswordEncoder encoder(int iterationCount) {
+        return encoders.computeIfAbsent(iterationCount, count -> new Pbkdf2PasswordEncoder(
+                "", SALT_LENGTH, count, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    }
+}
@@ -0,0 +1,205 @@
+package infosec.securityimplementations.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Removes dead rows from tables that otherwise only grow.
+ * Each policy names a table and the predicate for rows past retention. Rows are
+ * processed in bounded batches, walking the primary key (keyset pagination) so no
+ * batch rescans what earlier ones already passed, with a pause between batches to
+ * keep the load low. When archiving is enabled every batch is appended as gzipped
+ * JSON lines to a per-table, per-day file before it is deleted. Secret columns
+ * (session tokens, codes, mail payloads) are left out of the archive.
+ */
+@Component
+@Slf4j
+public class RetentionService {
+
+    /**
+     * A table, the condition, given a :cutoff timestamp, for rows that may go, and the
+     * columns never written to the archive
+     */
+    private record RetentionPolicy(String table, String deadPredicate, long retentionHours,
+                                   Set<String> secretColumns) {
+    }
+
+    /**
+     * Outcome of the last run of one policy
+     */
+    private record RunStats(long rows, long batches, long millis, double rowsPerSecond, LocalDateTime finishedAt) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final List<RetentionPolicy> policies;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final int maxBatchesPerRun;
+    private final boolean archiveEnabled;
+    private final Path archiveDirectory;
+
+    private final Map<String, RunStats> lastRuns = new ConcurrentHashMap<>();
+
+    public RetentionService(NamedParameterJdbcTemplate jdbcTemplate,
+                            JsonMapper jsonMapper,
+                            @Value("${retention.batch-size:1000}") int batchSize,
+                            @Value("${retention.batch-pause-ms:50}") long batchPauseMillis,
+                            @Value("${retention.max-batches-per-run:1000}") int maxBatchesPerRun,
+                            @Value("${retention.archive.enabled:false}") boolean archiveEnabled,
+                            @Value("${retention.archive.dir:./data/archive}") String archiveDirectory,
+                            @Value("${retention.sessions.hours:168}") long sessionHours,
+                            @Value("${retention.verification-codes.hours:24}") long codeHours,
+                            @Value("${retention.temporary-access.hours:720}") long accessHours,
+                            @Value("${retention.outbox.hours:168}") long outboxHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveDirectory = Path.of(archiveDirectory);
+        this.policies = List.of(
+                // Logged-out sessions stay until expiry so signed-token revocations can be read back
+                new RetentionPolicy("sessions", "expires_at < :cutoff", sessionHours, Set.of("session_token")),
+                new RetentionPolicy("verification_codes", "expires_at < :cutoff", codeHours, Set.of("code")),
+                new RetentionPolicy("temporary_access",
+                        "(revoked = TRUE OR status IN ('REJECTED', 'EXPIRED')) " +
+                                "AND COALESCE(expires_at, granted_at) < :cutoff", accessHours, Set.of()),
+                new RetentionPolicy("outbox_messages",
+                        "status IN ('SENT', 'FAILED') AND created_at < :cutoff", outboxHours, Set.of("payload")));
+    }
+
+    @Scheduled(initialDelayString = "${retention.initial-delay-ms:60000}",
+            fixedDelayString = "${retention.run-ms:3600000}")
+    public void runScheduled() {
+        policies.forEach(this::apply);
+    }
+
+    /**
+     * Apply one table's policy now
+     *
+     * @return number of rows removed
+     */
+    public long purge(String table) {
+        return policies.stream()
+                .filter(policy -> policy.table().equals(table))
+                .findFirst()
+                .map(this::apply)
+                .orElseThrow(() -> new IllegalArgumentException("No retention policy for " + table));
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "archiveEnabled", archiveEnabled,
+                "lastRuns", Map.copyOf(lastRuns));
+    }
+
+    private long apply(RetentionPolicy policy) {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(policy.retentionHours());
+        String select = "SELECT * FROM " + policy.table() + " WHERE id > :after AND " + policy.deadPredicate()
+                + " ORDER BY id LIMIT :limit";
+        String delete = "DELETE FROM " + policy.table() + " WHERE id IN (:ids)";
+
+        long after = 0;
+        long rows = 0;
+        int batches = 0;
+        while (batches < maxBatchesPerRun) {
+            List<Map<String, Object>> batch = jdbcTemplate.queryForList(select, new MapSqlParameterSource()
+                    .addValue("after", after)
+                    .addValue("cutoff", cutoff)
+                    .addValue("limit", batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (Map<String, Object> row : batch) {
+                ids.add(((Number) row.get("ID")).longValue());
+            }
+            if (archiveEnabled) {
+                archive(policy, batch);
+            }
+            rows += jdbcTemplate.update(delete, Map.of("ids", ids));
+            after = ids.get(ids.size() - 1);
+            batches++;
+
+            if (batch.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        double rowsPerSecond = millis == 0 ? rows : rows * 1000.0 / millis;
+        lastRuns.put(policy.table(), new RunStats(rows, batches, millis, rowsPerSecond, LocalDateTime.now()));
+        if (rows > 0) {
+            log.info("Retention removed {} rows from {} in {} batches ({} rows/s)",
+                    rows, policy.table(), batches, Math.round(rowsPerSecond));
+        }
+        return rows;
+    }
+
+    private boolean pause() {
+        if (batchPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Append a batch as one gzip member; concatenated members read back as a single stream
+     */
+    private void archive(RetentionPolicy policy, List<Map<String, Object>> batch) {
+        Path file = archiveDirectory.resolve(policy.table() + "-" + LocalDate.now() + ".jsonl.gz");
+        try {
+            Files.createDirectories(archiveDirectory);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                for (Map<String, Object> row : batch) {
+                    out.write(toJsonLine(row, policy.secretColumns()).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            // Nothing is deleted unless its archive write succeeded
+            throw new UncheckedIOException("Cannot archive " + policy.table() + " rows to " + file, e);
+        }
+    }
+
+    private String toJsonLine(Map<String, Object> row, Set<String> secretColumns) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        row.forEach((column, value) -> {
+            String name = column.toLowerCase();
+            if (!secretColumns.contains(name)) {
+                record.put(name, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value);
+            }
+        });
+        return jsonMapper.writeValueAsString(record) + "\n";
+    }
+}
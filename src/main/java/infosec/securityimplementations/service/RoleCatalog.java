@@ -0,0 +1,98 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The serialized response of the role catalogue, with a strong ETag derived from its bytes.
+ * Built on first use and held until a role or permission mapping changes; user-scoped
+ * role assignments do not touch the catalogue and leave it in place.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleCatalog {
+
+    /**
+     * Response body and its quoted ETag
+     */
+    public record Snapshot(long version, byte[] body, String etag) {
+    }
+
+    private final RoleService roleService;
+    private final JsonMapper jsonMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * Current catalogue, rebuilt first if roles or permissions changed since it was built
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null && snapshot.version() == version.get()) {
+            return snapshot;
+        }
+
+        rebuildLock.lock();
+        try {
+            snapshot = current.get();
+            long target = version.get();
+            if (snapshot == null || snapshot.version() != target) {
+                snapshot = rebuild(target);
+                current.set(snapshot);
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.userId() == null) {
+            version.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot snapshot = current.get();
+        return Map.of(
+                "version", version.get(),
+                "builtVersion", snapshot != null ? snapshot.version() : -1,
+                "rebuilds", rebuilds.sum(),
+                "bytes", snapshot != null ? snapshot.body().length : 0);
+    }
+
+    private Snapshot rebuild(long target) {
+        byte[] body = jsonMapper.writeValueAsBytes(ApiResponse.success("Roles retrieved", roleService.getAllRoles()));
+        rebuilds.increment();
+        log.debug("Role catalogue v{} rebuilt, {} bytes", target, body.length);
+        return new Snapshot(target, body, "\"" + digest(body) + "\"");
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package infosec.securityimplementations.service;
 
+import infosec.securityimplementations.dto.RoleList;
+import infosec.securityimplementations.dto.RoleSummary;
+import infosec.securityimplementations.dto.ServiceResult;
 import infosec.securityimplementations.entity.Role;
 import infosec.securityimplementations.entity.UserRole;
 import infosec.securityimplementations.repository.RoleRepository;
 import infosec.securityimplementations.repository.UserRoleRepository;
-import infosec.securityimplementations.repository.RolePermissionRepository;
-import infosec.securityimplementations.repository.PermissionRepository;
-import infosec.securityimplementations.entity.Permission;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository;
+import infosec.securityimplementations.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,31 +23,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RoleService {
 
+    private static final ServiceResult.Failure<Void> ASSIGN_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can assign roles");
+    private static final ServiceResult.Failure<Void> REVOKE_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can revoke roles");
+    private static final ServiceResult.Failure<Void> ROLE_NOT_FOUND = ServiceResult.failure("Role not found");
+    private static final ServiceResult.Failure<Void> ALREADY_ASSIGNED =
+            ServiceResult.failure("User already has this role");
+
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
-    private final RolePermissionRepository rolePermissionRepository;
-    private final PermissionRepository permissionRepository;
+    private final AuthorizationLookupRepository authorizationLookupRepository;
     private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Assign a role to a user
      */
     @Transactional
-    public Map<String, Object> assignRole(Long userId, String roleName, Long requestingUserId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> assignRole(Long userId, String roleName, AuthContext requester) {
         // Check if requesting user has ADMIN role
-        if (!authorizationService.hasRole(requestingUserId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Only admins can assign roles");
-            return result;
+        if (!requester.hasRole("ADMIN")) {
+            return ASSIGN_REQUIRES_ADMIN;
         }
 
         Optional<Role> roleOpt = roleRepository.findByName(roleName);
         if (roleOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Role not found");
-            return result;
+            return ROLE_NOT_FOUND;
         }
 
         Role role = roleOpt.get();
@@ -55,9 +60,7 @@ public class RoleService {
                 .anyMatch(ur -> ur.getRoleId().equals(role.getId()));
 
         if (alreadyHasRole) {
-            result.put("success", false);
-            result.put("message", "User already has this role");
-            return result;
+            return ALREADY_ASSIGNED;
         }
 
         UserRole userRole = UserRole.builder()
@@ -66,101 +69,78 @@ public class RoleService {
                 .build();
 
         userRoleRepository.save(userRole);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.forUser(userId));
         log.info("Role {} assigned to user {}", roleName, userId);
 
-        result.put("success", true);
-        result.put("message", "Role assigned successfully");
-
-        return result;
+        return ServiceResult.success("Role assigned successfully");
     }
 
     /**
      * Revoke a role from a user
      */
     @Transactional
-    public Map<String, Object> revokeRole(Long userId, String roleName, Long requestingUserId) {
-        Map<String, Object> result = new HashMap<>();
-
+    public ServiceResult<Void> revokeRole(Long userId, String roleName, AuthContext requester) {
         // Check if requesting user has ADMIN role
-        if (!authorizationService.hasRole(requestingUserId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Only admins can revoke roles");
-            return result;
+        if (!requester.hasRole("ADMIN")) {
+            return REVOKE_REQUIRES_ADMIN;
         }
 
         Optional<Role> roleOpt = roleRepository.findByName(roleName);
         if (roleOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "Role not found");
-            return result;
+            return ROLE_NOT_FOUND;
         }
 
         userRoleRepository.deleteByUserIdAndRoleId(userId, roleOpt.get().getId());
+        eventPublisher.publishEvent(AuthorizationChangedEvent.forUser(userId));
         log.info("Role {} revoked from user {}", roleName, userId);
 
-        result.put("success", true);
-        result.put("message", "Role revoked successfully");
-
-        return result;
+        return ServiceResult.success("Role revoked successfully");
     }
 
     /**
      * Get all roles for a user
      */
-    public Map<String, Object> getUserRoles(Long userId) {
-        Map<String, Object> result = new HashMap<>();
-
-        List<Role> roles = authorizationService.getUserRoles(userId);
-
-        List<Map<String, Object>> rolesWithPermissions = roles.stream().map(role -> {
-            Map<String, Object> roleMap = new HashMap<>();
-            roleMap.put("id", role.getId());
-            roleMap.put("name", role.getName());
-            roleMap.put("description", role.getDescription());
-            roleMap.put("roleType", role.getRoleType());
-
-            List<Long> permissionIds = rolePermissionRepository.findPermissionIdsByRoleId(role.getId());
-            List<String> permissionNames = permissionRepository.findAllById(permissionIds).stream()
-                    .map(Permission::getName)
-                    .collect(Collectors.toList());
-
-            roleMap.put("permissions", permissionNames);
-            return roleMap;
-        }).collect(Collectors.toList());
-
-        result.put("success", true);
-        result.put("roles", rolesWithPermissions);
-
-        return result;
+    public RoleList getUserRoles(Long userId) {
+        return new RoleList(toSummaries(authorizationService.getUserRoles(userId)));
     }
 
     /**
      * Get all available roles
      */
-    public Map<String, Object> getAllRoles() {
-        Map<String, Object> result = new HashMap<>();
-
-        List<Role> roles = roleRepository.findAll();
+    public RoleList getAllRoles() {
+        return new RoleList(toSummaries(roleRepository.findAll()));
+    }
 
-        List<Map<String, Object>> rolesWithPermissions = roles.stream().map(role -> {
-            Map<String, Object> roleMap = new HashMap<>();
-            roleMap.put("id", role.getId());
-            roleMap.put("name", role.getName());
-            roleMap.put("description", role.getDescription());
-            roleMap.put("roleType", role.getRoleType());
+    /**
+     * Roles with permission names for each of the given users, in two set-based queries
+     * however many users there are; users without roles map to an empty list
+     */
+    public Map<Long, List<RoleSummary>> getRolesByUserIds(Collection<Long> userIds) {
+        Map<Long, List<RoleSummary>> rolesByUser = new HashMap<>();
+        userIds.forEach(userId -> rolesByUser.put(userId, new ArrayList<>()));
+        if (userIds.isEmpty()) {
+            return rolesByUser;
+        }
 
-            List<Long> permissionIds = rolePermissionRepository.findPermissionIdsByRoleId(role.getId());
-            List<String> permissionNames = permissionRepository.findAllById(permissionIds).stream()
-                    .map(Permission::getName)
-                    .collect(Collectors.toList());
+        List<AuthorizationLookupRepository.UserRoleRecord> userRoles =
+                authorizationLookupRepository.findRolesByUserIds(userIds);
+        Map<Long, List<String>> permissions = authorizationLookupRepository.findPermissionNamesByRoleIds(
+                userRoles.stream().map(AuthorizationLookupRepository.UserRoleRecord::roleId).toList());
 
-            roleMap.put("permissions", permissionNames);
-            return roleMap;
-        }).collect(Collectors.toList());
+        for (AuthorizationLookupRepository.UserRoleRecord role : userRoles) {
+            rolesByUser.get(role.userId()).add(new RoleSummary(role.roleId(), role.name(), role.description(),
+                    role.roleType(), permissions.getOrDefault(role.roleId(), List.of())));
+        }
+        return rolesByUser;
+    }
 
-        result.put("success", true);
-        result.put("roles", rolesWithPermissions);
+    private List<RoleSummary> toSummaries(List<Role> roles) {
+        Map<Long, List<String>> permissions = authorizationLookupRepository.findPermissionNamesByRoleIds(
+                roles.stream().map(Role::getId).toList());
 
-        return result;
+        return roles.stream()
+                .map(role -> new RoleSummary(role.getId(), role.getName(), role.getDescription(),
+                        role.getRoleType(), permissions.getOrDefault(role.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,153 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process cache of session token lookups.
+ * Entries live for at most the configured TTL, so a session invalidated on
+ * another node is picked up again within that window.
+ */
+@Component
+public class SessionCache {
+
+    /**
+     * Cached view of a session row
+     */
+    public record CachedSession(Long userId, LocalDateTime expiresAt, boolean active, long cachedAtNanos) {
+    }
+
+    private final Map<String, CachedSession> entries = new ConcurrentHashMap<>();
+    // Insertion order of tokens, used for FIFO eviction once the cache is full
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public SessionCache(@Value("${session.cache.max-size:10000}") int maxSize,
+                        @Value("${session.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Look up a token, counting a hit only for fresh entries
+     */
+    public CachedSession get(String sessionToken) {
+        CachedSession cached = entries.get(sessionToken);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (System.nanoTime() - cached.cachedAtNanos() > ttlNanos) {
+            entries.remove(sessionToken, cached);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Cache the state of a session row
+     */
+    public void put(String sessionToken, Long userId, LocalDateTime expiresAt, boolean active) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        CachedSession previous = entries.put(sessionToken,
+                new CachedSession(userId, expiresAt, active, System.nanoTime()));
+        if (previous == null) {
+            insertionOrder.add(sessionToken);
+            queued.incrementAndGet();
+            evictIfFull();
+        }
+    }
+
+    /**
+     * Drop a single token (logout)
+     */
+    public void invalidate(String sessionToken) {
+        entries.remove(sessionToken);
+    }
+
+    /**
+     * Drop every cached token that belongs to a user
+     */
+    public void invalidateUser(Long userId) {
+        entries.values().removeIf(cached -> cached.userId().equals(userId));
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxSize) {
+            String eldest = pollQueue();
+            if (eldest == null) {
+                return;
+            }
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+
+        // Invalidated tokens stay queued until polled; drop them so the queue stays bounded too
+        int scans = 0;
+        while (queued.get() > maxSize * 2 && scans++ < maxSize) {
+            String token = pollQueue();
+            if (token == null) {
+                return;
+            }
+            if (entries.containsKey(token)) {
+                insertionOrder.add(token);
+                queued.incrementAndGet();
+            }
+        }
+    }
+
+    private String pollQueue() {
+        String token = insertionOrder.poll();
+        if (token != null) {
+            queued.decrementAndGet();
+        }
+        return token;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Snapshot of cache counters for reporting
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        return Map.of(
+                "size", entries.size(),
+                "maxSize", maxSize,
+                "hits", hitCount,
+                "misses", missCount,
+                "evictions", evictions.sum(),
+                "hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+    }
+}
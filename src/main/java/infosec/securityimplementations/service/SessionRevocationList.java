@@ -0,0 +1,87 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.repository.SessionLookupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation state for signed session tokens.
+ * Only tokens revoked before their natural expiry are tracked, so the set stays
+ * bounded by the session timeout. Revocations made on other nodes are picked up
+ * from the sessions table on every refresh.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionRevocationList {
+
+    private final SessionLookupRepository sessionLookupRepository;
+    private final SessionTokenSigner sessionTokenSigner;
+
+    // sessionId -> token expiry (epoch millis)
+    private final Map<Long, Long> revokedSessions = new ConcurrentHashMap<>();
+    // userId -> tokens issued before this instant (epoch millis) are revoked
+    private final Map<Long, Long> userNotBefore = new ConcurrentHashMap<>();
+
+    @Value("${session.token.mode:opaque}")
+    private String tokenMode;
+
+    @Value("${session.timeout.minutes:30}")
+    private int sessionTimeoutMinutes;
+
+    public boolean isRevoked(SessionTokenSigner.SignedToken token) {
+        if (revokedSessions.containsKey(token.sessionId())) {
+            return true;
+        }
+        Long notBefore = userNotBefore.get(token.userId());
+        return notBefore != null && token.issuedAt() < notBefore;
+    }
+
+    public void revoke(SessionTokenSigner.SignedToken token) {
+        revokedSessions.put(token.sessionId(), token.expiresAt());
+    }
+
+    /**
+     * Revoke every token of a user issued before the given instant
+     */
+    public void revokeUserBefore(Long userId, long epochMillis) {
+        userNotBefore.merge(userId, epochMillis, Math::max);
+    }
+
+    public int size() {
+        return revokedSessions.size() + userNotBefore.size();
+    }
+
+    /**
+     * Drop entries whose tokens have expired anyway and pull in revocations from other nodes
+     */
+    @Scheduled(fixedDelayString = "${session.token.revocation-refresh-ms:30000}")
+    public void refresh() {
+        if (!"signed".equalsIgnoreCase(tokenMode)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        revokedSessions.values().removeIf(expiresAt -> expiresAt < now);
+        long horizon = now - sessionTimeoutMinutes * 60_000L;
+        userNotBefore.values().removeIf(notBefore -> notBefore < horizon);
+
+        List<String> inactive = sessionLookupRepository.findInactiveTokensExpiringAfter(LocalDateTime.now());
+        for (String sessionToken : inactive) {
+            SessionTokenSigner.SignedToken token = sessionTokenSigner.verify(sessionToken);
+            if (token != null) {
+                revoke(token);
+            }
+        }
+
+        log.debug("Session revocation list refreshed: {} entries", size());
+    }
+}
@@ -1,15 +1,19 @@
 package infosec.securityimplementations.service;
 
 import infosec.securityimplementations.entity.Session;
+import infosec.securityimplementations.repository.SessionLookupRepository;
 import infosec.securityimplementations.repository.SessionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,11 +21,22 @@ import java.util.Optional;
 public class SessionService {
 
     private final SessionRepository sessionRepository;
+    private final SessionLookupRepository sessionLookupRepository;
+    private final SessionCache sessionCache;
+    private final SessionTokenSigner sessionTokenSigner;
+    private final SessionRevocationList sessionRevocationList;
     private static final SecureRandom random = new SecureRandom();
 
     @Value("${session.timeout.minutes:30}")
     private int sessionTimeoutMinutes;
 
+    /**
+     * opaque - random tokens resolved through the sessions table
+     * signed - HMAC-signed tokens validated without a database read
+     */
+    @Value("${session.token.mode:opaque}")
+    private String tokenMode;
+
     /**
      * Generate a secure random session token
      */
@@ -31,20 +46,39 @@ public class SessionService {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
     }
 
+    /**
+     * Generate a signed token carrying the session claims
+     */
+    private String generateSignedToken(Long userId, long issuedAt) {
+        return sessionTokenSigner.sign(new SessionTokenSigner.SignedToken(
+                random.nextLong(),
+                userId,
+                issuedAt,
+                issuedAt + sessionTimeoutMinutes * 60_000L));
+    }
+
+    private boolean isSignedMode() {
+        return "signed".equalsIgnoreCase(tokenMode);
+    }
+
     /**
      * Create a new session for a user
      */
     @Transactional
     public String createSession(Long userId) {
+        evictUserAfterCommit(userId);
+
         // Invalidate any existing active sessions for this user
-        sessionRepository.findByUserIdAndActiveTrue(userId)
-                .forEach(session -> {
-                    session.setActive(false);
-                    sessionRepository.save(session);
-                });
+        sessionRepository.deactivateByUserId(userId);
 
         // Create new session
-        String sessionToken = generateSessionToken();
+        long issuedAt = System.currentTimeMillis();
+        String sessionToken = isSignedMode() ? generateSignedToken(userId, issuedAt) : generateSessionToken();
+        if (isSignedMode()) {
+            // Older signed tokens of this user stop validating once the new session is committed
+            afterCommit(() -> sessionRevocationList.revokeUserBefore(userId, issuedAt));
+        }
+
         Session session = Session.builder()
                 .userId(userId)
                 .sessionToken(sessionToken)
@@ -53,6 +87,9 @@ public class SessionService {
                 .build();
 
         sessionRepository.save(session);
+
+        // Warm the cache so the first authenticated request skips the lookup
+        afterCommit(() -> sessionCache.put(sessionToken, userId, session.getExpiresAt(), true));
         return sessionToken;
     }
 
@@ -64,27 +101,67 @@ public class SessionService {
             return Optional.empty();
         }
 
-        Optional<Session> optionalSession = sessionRepository.findBySessionToken(sessionToken);
+        if (sessionTokenSigner.isSigned(sessionToken)) {
+            return validateSignedToken(sessionToken);
+        }
+
+        // Hot sessions resolve from the cache without touching the database
+        SessionCache.CachedSession cached = sessionCache.get(sessionToken);
+        if (cached != null) {
+            if (!cached.active()) {
+                return Optional.empty();
+            }
+            if (!LocalDateTime.now().isAfter(cached.expiresAt())) {
+                return Optional.of(cached.userId());
+            }
+            // Expired while cached - fall through so the row gets deactivated
+            sessionCache.invalidate(sessionToken);
+        }
+
+        Optional<SessionLookupRepository.SessionRecord> optionalSession =
+                sessionLookupRepository.findByToken(sessionToken);
 
         if (optionalSession.isEmpty()) {
             return Optional.empty();
         }
 
-        Session session = optionalSession.get();
+        SessionLookupRepository.SessionRecord session = optionalSession.get();
 
         // Check if session is active
-        if (!session.getActive()) {
+        if (!session.active()) {
+            sessionCache.put(sessionToken, session.userId(), session.expiresAt(), false);
             return Optional.empty();
         }
 
         // Check if session is expired
-        if (LocalDateTime.now().isAfter(session.getExpiresAt())) {
-            session.setActive(false);
-            sessionRepository.save(session);
+        if (LocalDateTime.now().isAfter(session.expiresAt())) {
+            sessionRepository.deactivate(session.id());
+            sessionCache.put(sessionToken, session.userId(), session.expiresAt(), false);
             return Optional.empty();
         }
 
-        return Optional.of(session.getUserId());
+        sessionCache.put(sessionToken, session.userId(), session.expiresAt(), true);
+        return Optional.of(session.userId());
+    }
+
+    /**
+     * Validate a signed token using only the signature, embedded expiry and revocation list
+     */
+    private Optional<Long> validateSignedToken(String sessionToken) {
+        SessionTokenSigner.SignedToken token = sessionTokenSigner.verify(sessionToken);
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        if (System.currentTimeMillis() >= token.expiresAt()) {
+            return Optional.empty();
+        }
+
+        if (sessionRevocationList.isRevoked(token)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(token.userId());
     }
 
     /**
@@ -92,6 +169,14 @@ public class SessionService {
      */
     @Transactional
     public void invalidateSession(String sessionToken) {
+        SessionTokenSigner.SignedToken token = sessionTokenSigner.verify(sessionToken);
+        if (token != null) {
+            sessionRevocationList.revoke(token);
+        }
+
+        sessionCache.invalidate(sessionToken);
+        afterCommit(() -> sessionCache.invalidate(sessionToken));
+
         sessionRepository.findBySessionToken(sessionToken)
                 .ifPresent(session -> {
                     session.setActive(false);
@@ -101,13 +186,50 @@ public class SessionService {
 
     /**
      * Invalidate all sessions for a user
+     *
+     * @return number of sessions deactivated
      */
     @Transactional
-    public void invalidateAllUserSessions(Long userId) {
-        sessionRepository.findByUserIdAndActiveTrue(userId)
-                .forEach(session -> {
-                    session.setActive(false);
-                    sessionRepository.save(session);
-                });
+    public int invalidateAllUserSessions(Long userId) {
+        evictUserAfterCommit(userId);
+        sessionRevocationList.revokeUserBefore(userId, System.currentTimeMillis() + 1);
+
+        return sessionRepository.deactivateByUserId(userId);
+    }
+
+    /**
+     * Get session cache counters
+     */
+    public Map<String, Object> getCacheStats() {
+        return sessionCache.getStats();
+    }
+
+    /**
+     * Number of entries tracked for revoked signed tokens
+     */
+    public int getRevocationListSize() {
+        return sessionRevocationList.size();
+    }
+
+    /**
+     * Evict a user's cached sessions now and again once the transaction commits,
+     * so a concurrent lookup cannot re-cache a row that is about to be deactivated
+     */
+    private void evictUserAfterCommit(Long userId) {
+        sessionCache.invalidateUser(userId);
+        afterCommit(() -> sessionCache.invalidateUser(userId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
@@ -0,0 +1,118 @@
+package infosec.securityimplementations.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encodes and verifies self-contained session tokens.
+ * Format: v1.&lt;base64url(sessionId|userId|issuedAt|expiresAt)&gt;.&lt;base64url(HMAC-SHA256)&gt;
+ * Timestamps are epoch milliseconds.
+ */
+@Component
+@Slf4j
+public class SessionTokenSigner {
+
+    public static final String PREFIX = "v1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 4 * Long.BYTES;
+
+    /**
+     * Claims carried by a signed token
+     */
+    public record SignedToken(long sessionId, long userId, long issuedAt, long expiresAt) {
+    }
+
+    private final Mac prototype;
+
+    public SessionTokenSigner(@Value("${session.token.signing-key:}") String signingKey) {
+        byte[] key;
+        if (signingKey == null || signingKey.isBlank()) {
+            // Tokens signed with an ephemeral key do not survive a restart or work across nodes
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("session.token.signing-key is not set - using an ephemeral signing key");
+        } else {
+            key = Base64.getDecoder().decode(signingKey);
+        }
+
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise session token signer", e);
+        }
+    }
+
+    /**
+     * Whether a token uses the signed format (as opposed to an opaque random token)
+     */
+    public boolean isSigned(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    public String sign(SignedToken claims) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(claims.sessionId())
+                .putLong(claims.userId())
+                .putLong(claims.issuedAt())
+                .putLong(claims.expiresAt())
+                .array();
+
+        String body = PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(payload);
+        return body + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(body));
+    }
+
+    /**
+     * Verify the signature and decode the claims; returns null for malformed or forged tokens.
+     * Expiry is left to the caller.
+     */
+    public SignedToken verify(String token) {
+        if (!isSigned(token)) {
+            return null;
+        }
+
+        int separator = token.lastIndexOf('.');
+        if (separator <= PREFIX.length()) {
+            return null;
+        }
+
+        String body = token.substring(0, separator);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, mac(body))) {
+                return null;
+            }
+
+            byte[] payload = Base64.getUrlDecoder().decode(body.substring(PREFIX.length()));
+            if (payload.length != PAYLOAD_LENGTH) {
+                return null;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            return new SignedToken(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(String body) {
+        try {
+            // Mac is not thread-safe; clones share the initialised key schedule
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(body.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package infosec.securityimplementations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transport that sends real email through the configured spring.mail SMTP server.
+ * A batch goes out over a single SMTP connection; when some of its messages are
+ * refused, only those are reported back for retry.
+ */
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "smtp")
+public class SmtpMailTransport implements MailTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpMailTransport(JavaMailSender mailSender, @Value("${mail.from:no-reply@localhost}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(List<MailMessage> batch) throws PartialDeliveryException {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            MailMessage message = batch.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(message.to());
+            mail.setSubject("Your Verification Code");
+            mail.setText(message.purpose() + "\n\nYour verification code is: " + message.code()
+                    + "\n\nThis code will expire in 10 minutes.");
+            messages[i] = mail;
+        }
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // Without per-message failures it is unknown what went out, so the whole batch fails
+            if (e.getFailedMessages().isEmpty()) {
+                throw e;
+            }
+            List<MailMessage> failed = new ArrayList<>();
+            for (int i = 0; i < messages.length; i++) {
+                if (e.getFailedMessages().containsKey(messages[i])) {
+                    failed.add(batch.get(i));
+                }
+            }
+            throw new PartialDeliveryException(failed, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package infosec.securityimplementations.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with four levels of 64 slots.
+ * Level 0 resolves single ticks; each higher level covers 64 times the span of
+ * the one below and is cascaded down when the lower level wraps around.
+ * Deadlines beyond the top level wait in an overflow list. Scheduling and
+ * advancing are O(1) per timer regardless of how many are pending.
+ * Not thread-safe; callers serialize access.
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private record Timer<T>(long deadline, T value) {
+    }
+
+    private final List<List<List<Timer<T>>>> levels = new ArrayList<>(LEVELS);
+    private final List<Timer<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Timer<T>>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule a value; deadlines at or before the current tick are returned on the next advance
+     */
+    public void schedule(long deadlineTick, T value) {
+        size++;
+        place(new Timer<>(Math.max(deadlineTick, currentTick + 1), value));
+    }
+
+    /**
+     * Advance to the given tick and collect every value whose deadline has been reached
+     */
+    public void advanceTo(long tick, List<T> expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            cascade(1);
+
+            List<Timer<T>> slot = levels.get(0).get((int) (currentTick & SLOT_MASK));
+            if (!slot.isEmpty()) {
+                for (Timer<T> timer : slot) {
+                    expired.add(timer.value());
+                }
+                size -= slot.size();
+                slot.clear();
+            }
+        }
+    }
+
+    /**
+     * Move the due slot of a level down once every lower level has wrapped
+     */
+    private void cascade(int level) {
+        if (((currentTick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0) {
+            return;
+        }
+
+        if (level == LEVELS) {
+            List<Timer<T>> pending = new ArrayList<>(overflow);
+            overflow.clear();
+            pending.forEach(this::place);
+            return;
+        }
+
+        // Higher levels first, so their timers can fall through into this one
+        cascade(level + 1);
+
+        List<Timer<T>> slot = levels.get(level).get((int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+        if (!slot.isEmpty()) {
+            List<Timer<T>> pending = new ArrayList<>(slot);
+            slot.clear();
+            pending.forEach(this::place);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadline() - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (SLOT_BITS * (level + 1)))) {
+                levels.get(level).get((int) ((timer.deadline() >>> (SLOT_BITS * level)) & SLOT_MASK)).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+}
@@ -0,0 +1,7 @@
+package infosec.securityimplementations.service;
+
+/**
+ * Published when a user's temporary access grants or account status change
+ */
+public record UserAccessChangedEvent(Long userId) {
+}
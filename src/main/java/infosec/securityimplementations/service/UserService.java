@@ -1,13 +1,26 @@
 package infosec.securityimplementations.service;
 
+import infosec.securityimplementations.dto.RoleSummary;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.dto.UserPage;
+import infosec.securityimplementations.dto.UserSummary;
+import infosec.securityimplementations.dto.UserWithRoles;
+import infosec.securityimplementations.dto.UserWithRolesPage;
 import infosec.securityimplementations.entity.User;
+import infosec.securityimplementations.repository.UserExportRepository;
 import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,72 +30,103 @@ import java.util.Optional;
 @Slf4j
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final ServiceResult.Failure<Void> PERMISSION_DENIED = ServiceResult.failure("Permission denied");
+    private static final ServiceResult.Failure<Void> CANNOT_BLOCK_SELF = ServiceResult.failure("Cannot block yourself");
+    private static final ServiceResult.Failure<Void> USER_NOT_FOUND = ServiceResult.failure("User not found");
+
     private final UserRepository userRepository;
-    private final AuthorizationService authorizationService;
+    private final UserExportRepository userExportRepository;
+    private final JsonMapper jsonMapper;
     private final SessionService sessionService;
+    private final RoleService roleService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * One page of users after the given id, without password hashes
+     */
+    public UserPage getUsers(Long afterId, int size, Boolean blocked, Boolean verified) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<UserSummary> users = userRepository.findPage(afterId != null ? afterId : 0L, blocked, verified,
+                Limit.of(pageSize));
+        Long nextCursor = users.size() == pageSize ? users.get(users.size() - 1).getId() : null;
+        return new UserPage(users, nextCursor);
+    }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * One page of users, each with its roles and permission names. Costs three queries
+     * whatever the page size: the page itself, the users' roles and those roles' permissions.
+     */
+    public UserWithRolesPage getUsersWithRoles(Long afterId, int size, Boolean blocked, Boolean verified) {
+        UserPage page = getUsers(afterId, size, blocked, verified);
+        Map<Long, List<RoleSummary>> roles = roleService.getRolesByUserIds(
+                page.getUsers().stream().map(UserSummary::getId).toList());
+
+        List<UserWithRoles> users = page.getUsers().stream()
+                .map(user -> new UserWithRoles(user, roles.get(user.getId())))
+                .toList();
+        return new UserWithRolesPage(users, page.getNextCursor());
     }
 
-    @Transactional
-    public Map<String, Object> blockUser(Long userId, Long adminId) {
-        Map<String, Object> result = new HashMap<>();
+    /**
+     * Write every matching user as one JSON object per line
+     *
+     * @return number of users written
+     */
+    public long exportUsers(OutputStream out, Boolean blocked, Boolean verified) {
+        return userExportRepository.forEach(blocked, verified, user -> {
+            try {
+                out.write(jsonMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
-        if (!authorizationService.hasRole(adminId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Permission denied");
-            return result;
+    @Transactional
+    public ServiceResult<Void> blockUser(Long userId, AuthContext admin) {
+        if (!admin.hasRole("ADMIN")) {
+            return PERMISSION_DENIED;
         }
 
-        if (userId.equals(adminId)) {
-            result.put("success", false);
-            result.put("message", "Cannot block yourself");
-            return result;
+        if (userId.equals(admin.userId())) {
+            return CANNOT_BLOCK_SELF;
         }
 
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return USER_NOT_FOUND;
         }
 
         User user = userOpt.get();
         user.setBlocked(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
 
         // Invalidate all sessions for this user
         sessionService.invalidateAllUserSessions(userId);
 
-        result.put("success", true);
-        result.put("message", "User blocked successfully");
-        return result;
+        return ServiceResult.success("User blocked successfully");
     }
 
     @Transactional
-    public Map<String, Object> unblockUser(Long userId, Long adminId) {
-        Map<String, Object> result = new HashMap<>();
-
-        if (!authorizationService.hasRole(adminId, "ADMIN")) {
-            result.put("success", false);
-            result.put("message", "Permission denied");
-            return result;
+    public ServiceResult<Void> unblockUser(Long userId, AuthContext admin) {
+        if (!admin.hasRole("ADMIN")) {
+            return PERMISSION_DENIED;
         }
 
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
-            result.put("success", false);
-            result.put("message", "User not found");
-            return result;
+            return USER_NOT_FOUND;
         }
 
         User user = userOpt.get();
         user.setBlocked(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
 
-        result.put("success", true);
-        result.put("message", "User unblocked successfully");
-        return result;
+        return ServiceResult.success("User unblocked successfully");
     }
 }
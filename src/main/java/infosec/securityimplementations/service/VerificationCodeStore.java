@@ -0,0 +1,32 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.VerificationCode;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Storage for outstanding verification codes, at most one per (user, code type).
+ * Storing a new code supersedes the previous one; a code is consumed by a successful
+ * check and discarded after too many failed ones.
+ */
+public interface VerificationCodeStore {
+
+    void store(Long userId, VerificationCode.CodeType type, String code, LocalDateTime expiresAt);
+
+    /**
+     * Check a submitted code, consuming it on success and counting the attempt on failure
+     */
+    boolean verify(Long userId, VerificationCode.CodeType type, String code);
+
+    Map<String, Object> getStats();
+
+    /**
+     * Instant from which this store holds the codes given to it, or empty if it keeps them
+     * across restarts. Codes issued earlier can never verify, so mail carrying them is not sent.
+     */
+    default Optional<LocalDateTime> heldSince() {
+        return Optional.empty();
+    }
+}
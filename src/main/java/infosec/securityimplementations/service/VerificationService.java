@@ -1,20 +1,19 @@
 package infosec.securityimplementations.service;
 
 import infosec.securityimplementations.entity.VerificationCode;
-import infosec.securityimplementations.repository.VerificationCodeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class VerificationService {
 
-    private final VerificationCodeRepository verificationCodeRepository;
+    private final VerificationCodeStore verificationCodeStore;
     private final EmailService emailService;
     private static final SecureRandom random = new SecureRandom();
     private static final int CODE_LENGTH = 6;
@@ -32,58 +31,32 @@ public class VerificationService {
     }
 
     /**
-     * Create and store a verification code for a user
+     * Create and store a verification code for a user, superseding any previous one
      */
-    @Transactional
     public String createVerificationCode(Long userId, VerificationCode.CodeType type) {
         String code = generateCode();
-
-        VerificationCode verificationCode = VerificationCode.builder()
-                .userId(userId)
-                .code(code)
-                .type(type)
-                .expiresAt(LocalDateTime.now().plusMinutes(CODE_EXPIRY_MINUTES))
-                .used(false)
-                .build();
-
-        verificationCodeRepository.save(verificationCode);
+        verificationCodeStore.store(userId, type, code, LocalDateTime.now().plusMinutes(CODE_EXPIRY_MINUTES));
         return code;
     }
 
     /**
      * Validate a verification code
      */
-    @Transactional
     public boolean validateCode(Long userId, String code, VerificationCode.CodeType type) {
-        Optional<VerificationCode> optionalCode = verificationCodeRepository
-                .findByUserIdAndTypeAndUsedFalse(userId, type);
-
-        if (optionalCode.isEmpty()) {
-            return false;
-        }
-
-        VerificationCode verificationCode = optionalCode.get();
-
-        // Check if code matches
-        if (!verificationCode.getCode().equals(code)) {
-            return false;
-        }
-
-        // Check if code is expired
-        if (LocalDateTime.now().isAfter(verificationCode.getExpiresAt())) {
-            return false;
-        }
-
-        // Mark code as used
-        verificationCode.setUsed(true);
-        verificationCodeRepository.save(verificationCode);
+        return verificationCodeStore.verify(userId, type, code);
+    }
 
-        return true;
+    /**
+     * Get code store counters
+     */
+    public Map<String, Object> getCodeStoreStats() {
+        return verificationCodeStore.getStats();
     }
 
     /**
-     * Create and send email verification code
+     * Create and send email verification code, in one transaction with its outbox entry
      */
+    @Transactional
     public String sendEmailVerificationCode(Long userId, String email) {
         String code = createVerificationCode(userId, VerificationCode.CodeType.EMAIL_VERIFICATION);
         emailService.sendEmailVerificationCode(email, code);
@@ -91,8 +64,9 @@ public class VerificationService {
     }
 
     /**
-     * Create and send 2FA code
+     * Create and send 2FA code, in one transaction with its outbox entry
      */
+    @Transactional
     public String send2FACode(Long userId, String email) {
         String code = createVerificationCode(userId, VerificationCode.CodeType.TWO_FACTOR);
         emailService.send2FACode(email, code);
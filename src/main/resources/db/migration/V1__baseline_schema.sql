@@ -0,0 +1,97 @@
+-- Schema as previously inferred by Hibernate. IF NOT EXISTS lets databases created
+-- by ddl-auto=update be adopted in place (baseline-version 0 runs this script on them).
+
+create table if not exists users (
+    blocked boolean not null,
+    email_verified boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    username varchar(50) not null unique,
+    email varchar(100) not null unique,
+    password_hash varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists roles (
+    id bigint generated by default as identity,
+    name varchar(50) not null unique,
+    description varchar(255),
+    role_type enum ('ORGANIZATIONAL','RESOURCE_SPECIFIC') not null,
+    primary key (id)
+);
+
+create table if not exists permissions (
+    id bigint generated by default as identity,
+    action varchar(50) not null,
+    name varchar(50) not null unique,
+    resource varchar(50) not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table if not exists user_roles (
+    assigned_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists role_permissions (
+    id bigint generated by default as identity,
+    permission_id bigint not null,
+    role_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists sessions (
+    active boolean not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    session_token varchar(255) not null unique,
+    primary key (id)
+);
+
+create table if not exists temporary_access (
+    duration_minutes integer not null,
+    revoked boolean not null,
+    expires_at timestamp(6),
+    granted_at timestamp(6),
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    resource_type varchar(50) not null,
+    resource_id varchar(100) not null,
+    reason varchar(500),
+    status enum ('APPROVED','EXPIRED','PENDING','REJECTED') not null,
+    primary key (id)
+);
+
+create table if not exists verification_codes (
+    failed_attempts integer,
+    used boolean not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    code varchar(10) not null,
+    type enum ('EMAIL_VERIFICATION','TWO_FACTOR') not null,
+    primary key (id)
+);
+
+-- Added after the original tables were created
+alter table verification_codes add column if not exists failed_attempts integer;
+
+create table if not exists outbox_messages (
+    claimed_until timestamp(6),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    sent_at timestamp(6),
+    claim_token varchar(36),
+    purpose varchar(50) not null,
+    recipient varchar(100) not null,
+    payload varchar(500) not null,
+    status enum ('FAILED','PENDING','SENT') not null,
+    primary key (id)
+);
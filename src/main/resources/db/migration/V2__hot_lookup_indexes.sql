@@ -0,0 +1,25 @@
+-- Indexes for every lookup the repositories run on the request path or in scheduled jobs
+
+-- Session creation/invalidation by user; revocation refresh and retention by expiry
+create index if not exists idx_sessions_user_active on sessions (user_id, active);
+create index if not exists idx_sessions_expires_at on sessions (expires_at);
+
+-- RBAC joins and index compilation
+create index if not exists idx_user_roles_user on user_roles (user_id);
+create index if not exists idx_user_roles_role on user_roles (role_id);
+create index if not exists idx_role_permissions_role on role_permissions (role_id);
+create index if not exists idx_roles_role_type on roles (role_type);
+create index if not exists idx_permissions_resource on permissions (resource);
+
+-- JIT grant checks, pending queue, expiry wheel rebuild and sweep
+create index if not exists idx_temporary_access_user_resource on temporary_access (user_id, resource_id, revoked);
+create index if not exists idx_temporary_access_status on temporary_access (status);
+create index if not exists idx_temporary_access_expires_at on temporary_access (expires_at);
+
+-- Code lookup/supersede by user and type; retention by expiry
+create index if not exists idx_verification_codes_user_type on verification_codes (user_id, type, used);
+create index if not exists idx_verification_codes_expires_at on verification_codes (expires_at);
+
+-- Outbox claiming and claimed-batch reads
+create index if not exists idx_outbox_status_claimed_until on outbox_messages (status, claimed_until);
+create index if not exists idx_outbox_claim_token on outbox_messages (claim_token);
@@ -0,0 +1,13 @@
+-- Pooled sequence ids, so Hibernate can batch inserts (IDENTITY forces one round trip per row).
+-- Hibernate's pooled optimizer treats each value as the top of a block of 50 ids, so every
+-- sequence starts 50 past the current maximum id to keep new blocks clear of existing rows.
+
+create sequence if not exists users_seq start with (select coalesce(max(id), 0) + 50 from users) increment by 50;
+create sequence if not exists roles_seq start with (select coalesce(max(id), 0) + 50 from roles) increment by 50;
+create sequence if not exists permissions_seq start with (select coalesce(max(id), 0) + 50 from permissions) increment by 50;
+create sequence if not exists user_roles_seq start with (select coalesce(max(id), 0) + 50 from user_roles) increment by 50;
+create sequence if not exists role_permissions_seq start with (select coalesce(max(id), 0) + 50 from role_permissions) increment by 50;
+create sequence if not exists sessions_seq start with (select coalesce(max(id), 0) + 50 from sessions) increment by 50;
+create sequence if not exists temporary_access_seq start with (select coalesce(max(id), 0) + 50 from temporary_access) increment by 50;
+create sequence if not exists verification_codes_seq start with (select coalesce(max(id), 0) + 50 from verification_codes) increment by 50;
+create sequence if not exists outbox_messages_seq start with (select coalesce(max(id), 0) + 50 from outbox_messages) increment by 50;
@@ -0,0 +1,2 @@
+-- Completed outbox messages are never delivered again; drop the codes they still carry
+update outbox_messages set payload = '' where status <> 'PENDING';
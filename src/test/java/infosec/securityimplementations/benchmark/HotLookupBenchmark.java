@@ -0,0 +1,141 @@
+package infosec.securityimplementations.benchmark;
+
+import infosec.securityimplementations.SecurityImplementationsApplication;
+import infosec.securityimplementations.entity.Permission;
+import infosec.securityimplementations.repository.AuthorizationLookupRepository;
+import infosec.securityimplementations.repository.PermissionRepository;
+import infosec.securityimplementations.repository.RolePermissionRepository;
+import infosec.securityimplementations.repository.RoleRepository;
+import infosec.securityimplementations.repository.SessionLookupRepository;
+import infosec.securityimplementations.repository.SessionRepository;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.repository.UserRoleRepository;
+import infosec.securityimplementations.service.SessionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA vs. JDBC record lookups on the session and authorization hot paths.
+ * Each pair runs the same query through the Spring Data JPA repository and through
+ * the read-only JDBC lookup repository, against an in-memory database seeded by
+ * the application itself.
+ * <p>
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     infosec.securityimplementations.benchmark.HotLookupBenchmark
+ * </pre>
+ * Add {@code -prof gc} through {@code org.openjdk.jmh.Main} to compare allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotLookupBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private SessionRepository sessionRepository;
+    private SessionLookupRepository sessionLookupRepository;
+    private RoleRepository roleRepository;
+    private PermissionRepository permissionRepository;
+    private RolePermissionRepository rolePermissionRepository;
+    private UserRoleRepository userRoleRepository;
+    private AuthorizationLookupRepository authorizationLookupRepository;
+
+    private String sessionToken;
+    private Long userId;
+    private Long roleId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SecurityImplementationsApplication.class)
+                // Arguments, not default properties, so they override application.properties
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:hot-lookup-benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        sessionRepository = context.getBean(SessionRepository.class);
+        sessionLookupRepository = context.getBean(SessionLookupRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        permissionRepository = context.getBean(PermissionRepository.class);
+        rolePermissionRepository = context.getBean(RolePermissionRepository.class);
+        userRoleRepository = context.getBean(UserRoleRepository.class);
+        authorizationLookupRepository = context.getBean(AuthorizationLookupRepository.class);
+
+        userId = context.getBean(UserRepository.class).findByUsername("admin").orElseThrow().getId();
+        roleId = roleRepository.findByName("ADMIN").orElseThrow().getId();
+        sessionToken = context.getBean(SessionService.class).createSession(userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object sessionByTokenJpa() {
+        return sessionRepository.findBySessionToken(sessionToken);
+    }
+
+    @Benchmark
+    public Object sessionByTokenJdbc() {
+        return sessionLookupRepository.findByToken(sessionToken);
+    }
+
+    @Benchmark
+    public Object userRolesJpa() {
+        return roleRepository.findByUserId(userId);
+    }
+
+    @Benchmark
+    public Object userRolesJdbc() {
+        return authorizationLookupRepository.findRoleNamesByUserId(userId);
+    }
+
+    @Benchmark
+    public List<String> rolePermissionsJpa() {
+        List<Long> permissionIds = rolePermissionRepository.findPermissionIdsByRoleId(roleId);
+        return permissionRepository.findAllById(permissionIds).stream()
+                .map(Permission::getName)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> rolePermissionsJdbc() {
+        return authorizationLookupRepository.findPermissionNamesByRoleIds(List.of(roleId)).get(roleId);
+    }
+
+    @Benchmark
+    public void authorizationTablesJpa(Blackhole blackhole) {
+        blackhole.consume(roleRepository.findAll());
+        blackhole.consume(permissionRepository.findAll());
+        blackhole.consume(rolePermissionRepository.findAll());
+        blackhole.consume(userRoleRepository.findAll());
+    }
+
+    @Benchmark
+    public void authorizationTablesJdbc(Blackhole blackhole) {
+        blackhole.consume(authorizationLookupRepository.findRoles());
+        blackhole.consume(authorizationLookupRepository.findPermissions());
+        blackhole.consume(authorizationLookupRepository.findRolePermissionPairs());
+        blackhole.consume(authorizationLookupRepository.findUserRolePairs());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
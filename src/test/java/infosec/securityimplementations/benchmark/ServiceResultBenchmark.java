@@ -0,0 +1,92 @@
+package infosec.securityimplementations.benchmark;
+
+import infosec.securityimplementations.dto.ApiResponse;
+import infosec.securityimplementations.dto.AuthResults.CurrentUser;
+import infosec.securityimplementations.dto.ServiceResult;
+import infosec.securityimplementations.dto.UserProfile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Map-based vs. typed service results, from building the result to the serialized response body.
+ * The map variants rebuild the results the services returned before they moved to
+ * {@link ServiceResult}: a fixed rejection, and the /api/auth/me payload.
+ * <p>
+ * Not part of the test run. After {@code mvn test-compile}, compare allocation per request
+ * (gc.alloc.rate.norm) with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     org.openjdk.jmh.Main ServiceResultBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceResultBenchmark {
+
+    private static final ServiceResult.Failure<Void> APPROVE_REQUIRES_ADMIN =
+            ServiceResult.failure("Only admins can approve requests");
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final List<String> roleNames = List.of("ADMIN", "DOCUMENT_EDITOR");
+
+    @Benchmark
+    public byte[] rejectionMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("message", "Only admins can approve requests");
+        if ((boolean) result.get("success")) {
+            return jsonMapper.writeValueAsBytes(ApiResponse.success((String) result.get("message")));
+        }
+        return jsonMapper.writeValueAsBytes(ApiResponse.error((String) result.get("message")));
+    }
+
+    @Benchmark
+    public byte[] rejectionTyped() {
+        ServiceResult<Void> result = APPROVE_REQUIRES_ADMIN;
+        return jsonMapper.writeValueAsBytes(ApiResponse.from(result));
+    }
+
+    @Benchmark
+    public byte[] currentUserMap() {
+        Map<String, Object> result = new HashMap<>();
+        List<Map<String, String>> roleObjects = roleNames.stream()
+                .map(name -> Map.of("name", name))
+                .collect(Collectors.toList());
+        result.put("success", true);
+        result.put("user", Map.of(
+                "id", 1L,
+                "username", "admin",
+                "email", "admin@example.com",
+                "emailVerified", true,
+                "roles", roleObjects));
+        return jsonMapper.writeValueAsBytes(ApiResponse.success("User info retrieved", result));
+    }
+
+    @Benchmark
+    public byte[] currentUserTyped() {
+        ServiceResult<CurrentUser> result = ServiceResult.success("User info retrieved", new CurrentUser(
+                new UserProfile(1L, "admin", "admin@example.com", true, UserProfile.roleNames(roleNames))));
+        return jsonMapper.writeValueAsBytes(ApiResponse.from(result));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServiceResultBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
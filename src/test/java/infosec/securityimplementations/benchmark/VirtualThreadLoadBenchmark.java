@@ -0,0 +1,125 @@
+package infosec.securityimplementations.benchmark;
+
+import infosec.securityimplementations.SecurityImplementationsApplication;
+import infosec.securityimplementations.entity.User;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.service.SessionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test of GET /api/auth/me with one client per session, run once on
+ * the platform request pool and once with spring.threads.virtual.enabled=true.
+ * Each client sends its requests back to back; the report gives latency percentiles
+ * and throughput per mode.
+ * <p>
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     infosec.securityimplementations.benchmark.VirtualThreadLoadBenchmark [sessions] [requestsPerSession]
+ * </pre>
+ */
+@Slf4j
+public class VirtualThreadLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requestsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            run(virtualThreads, sessions, requestsPerSession);
+        }
+    }
+
+    private static void run(boolean virtualThreads, int sessions, int requestsPerSession) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SecurityImplementationsApplication.class)
+                .run("--server.port=0",
+                        "--server.ssl.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--concurrency.limit.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.infosec.securityimplementations.benchmark=INFO")) {
+
+            // A new session ends the user's previous one, so every client gets its own user
+            List<User> users = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                users.add(User.builder()
+                        .username("load" + i)
+                        .email("load" + i + "@example.com")
+                        .passwordHash("not-a-hash")
+                        .emailVerified(true)
+                        .build());
+            }
+            context.getBean(UserRepository.class).saveAll(users);
+            SessionService sessionService = context.getBean(SessionService.class);
+            List<String> tokens = new ArrayList<>(sessions);
+            for (User user : users) {
+                tokens.add(sessionService.createSession(user.getId()));
+            }
+
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/auth/me");
+            long[] latencies = new long[sessions * requestsPerSession];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            long elapsed;
+            try (HttpClient http = HttpClient.newHttpClient();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String token : tokens) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Cookie", "SESSION_TOKEN=" + token)
+                            .build();
+                    clients.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < requestsPerSession; i++) {
+                            long begin = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                        }
+                        return null;
+                    });
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                clients.shutdown();
+                clients.awaitTermination(10, TimeUnit.MINUTES);
+                elapsed = System.nanoTime() - begin;
+            }
+
+            Arrays.sort(latencies);
+            log.info(String.format("%-8s sessions=%d requests=%d errors=%d  p50=%.1f ms  p99=%.1f ms  max=%.1f ms  %.0f req/s",
+                    virtualThreads ? "virtual" : "platform", sessions, latencies.length, errors.get(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                    latencies.length / (elapsed / 1e9)));
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
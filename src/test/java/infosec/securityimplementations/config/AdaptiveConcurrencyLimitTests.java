@@ -0,0 +1,87 @@
+package infosec.securityimplementations.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long now;
+
+    @Test
+    void growsWhileLatencyHoldsSteady() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, WINDOW, now);
+
+        runWindows(limit, 20, 10, false);
+
+        assertTrue(limit.limit() > 10, "limit " + limit.limit());
+    }
+
+    @Test
+    void shrinksWhenLatencyInflates() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, WINDOW, now);
+        runWindows(limit, 20, 10, false);
+        int before = limit.limit();
+
+        runWindows(limit, 10, 50, false);
+
+        assertTrue(limit.limit() < before, before + " -> " + limit.limit());
+    }
+
+    @Test
+    void failuresBackOffMultiplicatively() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, WINDOW, now);
+
+        runWindows(limit, 1, 10, true);
+
+        assertEquals(45, limit.limit());
+        assertEquals(50L, limit.getStats().get("failed"));
+    }
+
+    @Test
+    void underusedWindowsLeaveLimitUnchanged() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 1, 100, WINDOW, now);
+
+        for (int window = 0; window < 20; window++) {
+            now += WINDOW;
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limit.tryAcquire());
+                limit.release(TimeUnit.MILLISECONDS.toNanos(10), false, now);
+            }
+        }
+
+        assertEquals(40, limit.limit());
+    }
+
+    @Test
+    void shedsOnceAllPermitsAreTaken() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 100, WINDOW, now);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.isSaturated());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(1, false, now);
+        assertTrue(limit.tryAcquire());
+        assertEquals(1L, limit.getStats().get("shed"));
+    }
+
+    // Each window fills every permit, then completes them all at the window's end
+    private void runWindows(AdaptiveConcurrencyLimit limit, int windows, long rttMillis, boolean failed) {
+        for (int window = 0; window < windows; window++) {
+            int taken = 0;
+            while (limit.tryAcquire()) {
+                taken++;
+            }
+            now += WINDOW;
+            for (int i = 0; i < taken; i++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), failed, now);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package infosec.securityimplementations.config;
+
+import infosec.securityimplementations.config.LoadSheddingFilter.RouteClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One permit per route class until the first window completes
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-shedding-tests",
+        "concurrency.limit.enabled=true",
+        "concurrency.limit.initial=1",
+        "concurrency.limit.min=1",
+        "concurrency.limit.max=10",
+        "concurrency.limit.retry-after-seconds=3"
+})
+class LoadSheddingFilterTests {
+
+    private static final String ORIGIN = "http://localhost:5173";
+
+    @Autowired
+    private LoadSheddingFilter filter;
+
+    @Test
+    void classifiesRoutes() {
+        assertEquals(RouteClass.AUTHZ_READ, LoadSheddingFilter.classify("GET", "/api/auth/me"));
+        assertEquals(RouteClass.AUTHZ_READ, LoadSheddingFilter.classify("POST", "/api/resources/check-batch"));
+        assertEquals(RouteClass.ADMIN_READ, LoadSheddingFilter.classify("GET", "/api/roles/all"));
+        assertEquals(RouteClass.ADMIN_READ, LoadSheddingFilter.classify("GET", "/api/users/with-roles"));
+        assertEquals(RouteClass.AUTH, LoadSheddingFilter.classify("POST", "/api/auth/login"));
+        assertEquals(RouteClass.AUTH, LoadSheddingFilter.classify("POST", "/api/auth/register"));
+        assertEquals(RouteClass.ADMIN_WRITE, LoadSheddingFilter.classify("POST", "/api/roles/assign"));
+        assertEquals(RouteClass.ADMIN_WRITE, LoadSheddingFilter.classify("POST", "/api/users/5/block"));
+        assertNull(LoadSheddingFilter.classify("GET", "/api/reports/performance"));
+        assertNull(LoadSheddingFilter.classify("GET", "/api/users/export"));
+        assertNull(LoadSheddingFilter.classify("OPTIONS", "/api/auth/login"));
+        assertNull(LoadSheddingFilter.classify("GET", "/index.html"));
+    }
+
+    @Test
+    void shedsExcessAndYieldsLoginToSaturatedSessionChecks() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[3];
+        long shedBefore = (long) reads().get("shed");
+
+        // While the only /me permit is held, run the other requests through the filter
+        MockHttpServletResponse me = send("GET", "/api/auth/me", () -> {
+            nested[0] = send("GET", "/api/auth/me", null);
+            nested[1] = send("POST", "/api/auth/login", null);
+            nested[2] = send("POST", "/api/roles/assign", null);
+        });
+
+        assertEquals(200, me.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("3", nested[0].getHeader("Retry-After"));
+        assertTrue(nested[0].getContentAsString().contains("\"success\":false"));
+        assertEquals(503, nested[1].getStatus(), "login must yield to session checks");
+        assertEquals(200, nested[2].getStatus());
+
+        assertEquals(200, send("POST", "/api/auth/login", null).getStatus());
+
+        assertEquals(shedBefore + 1, reads().get("shed"));
+        assertEquals(0, reads().get("inFlight"));
+    }
+
+    @Test
+    void saturatedAdminListingsDoNotShedLogins() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[3];
+
+        send("GET", "/api/users/with-roles", () -> {
+            nested[0] = send("GET", "/api/roles/all", null);
+            nested[1] = send("POST", "/api/auth/login", null);
+            nested[2] = send("GET", "/api/auth/me", null);
+        });
+
+        assertEquals(503, nested[0].getStatus());
+        assertEquals(200, nested[1].getStatus(), "admin reads must not take the session checks' priority");
+        assertEquals(200, nested[2].getStatus());
+    }
+
+    @Test
+    void shedResponseCarriesCorsHeaders() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+
+        send("GET", "/api/auth/me", () -> {
+            nested[0] = send("GET", "/api/auth/me", null);
+            nested[1] = send("POST", "/api/auth/login", null);
+        });
+
+        for (MockHttpServletResponse response : nested) {
+            assertEquals(503, response.getStatus());
+            assertEquals(ORIGIN, response.getHeader("Access-Control-Allow-Origin"));
+            assertEquals("true", response.getHeader("Access-Control-Allow-Credentials"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> reads() {
+        return (Map<String, Object>) filter.getStats().get("AUTHZ_READ");
+    }
+
+    private MockHttpServletResponse send(String method, String path, ThrowingRunnable whileInFlight) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Origin", ORIGIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            if (whileInFlight != null) {
+                try {
+                    whileInFlight.run();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        return response;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
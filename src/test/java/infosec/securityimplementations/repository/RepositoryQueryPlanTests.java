@@ -0,0 +1,217 @@
+package infosec.securityimplementations.repository;
+
+import infosec.securityimplementations.entity.AccessStatus;
+import infosec.securityimplementations.entity.OutboxMessage;
+import infosec.securityimplementations.entity.Role;
+import infosec.securityimplementations.entity.VerificationCode;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query once, then asks H2 for the plan of each SQL statement
+ * Hibernate or the JDBC lookups produced and fails unless every table in it is reached
+ * through an index seek: a condition on the index's leading column, not a table scan
+ * or a walk of a whole index. The deliberate full reads (findAll, the authorization
+ * index tables) are not exercised, except the user export, which must walk the
+ * primary key in order without a sort.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan-tests",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "infosec.securityimplementations.repository.RepositoryQueryPlanTests$RecordingInspector"
+})
+class RepositoryQueryPlanTests {
+
+    private static final Set<String> STATEMENTS = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    // Every table access in an H2 plan, and the ones that seek: "/* PUBLIC.IDX_NAME: COLUMN = ?1"
+    private static final Pattern ACCESS = Pattern.compile("/\\* PUBLIC\\.");
+    private static final Pattern SEEK = Pattern.compile(
+            "/\\* PUBLIC\\.\\w+: (\\w+\\.)?\\w+ (=|<|>|<=|>=|IN\\()");
+
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private TemporaryAccessRepository temporaryAccessRepository;
+    @Autowired
+    private VerificationCodeRepository verificationCodeRepository;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<String> jdbcStatements = new ArrayList<>();
+    private final List<String> fullReads = new ArrayList<>();
+
+    @Test
+    @Transactional
+    void noRepositoryQueryScansWholeTable() throws Exception {
+        STATEMENTS.clear();
+        LocalDateTime now = LocalDateTime.now();
+
+        userRepository.findByUsername("admin");
+        userRepository.findByEmail("admin@example.com");
+        userRepository.existsByUsername("admin");
+        userRepository.existsByEmail("admin@example.com");
+        userRepository.findPage(0L, null, null, Limit.of(50));
+        userRepository.findPage(0L, true, false, Limit.of(50));
+
+        roleRepository.findByName("ADMIN");
+        roleRepository.findByRoleType(Role.RoleType.ORGANIZATIONAL);
+        roleRepository.findByUserId(1L);
+
+        permissionRepository.findByName("USER_READ");
+        permissionRepository.findByResource("USER");
+        permissionRepository.findByUserId(1L);
+
+        userRoleRepository.findByUserId(1L);
+        userRoleRepository.findByRoleId(1L);
+        rolePermissionRepository.findByRoleId(1L);
+        rolePermissionRepository.findPermissionIdsByRoleId(1L);
+        userRoleRepository.deleteByUserIdAndRoleId(-1L, -1L);
+
+        SessionLookupRepository sessionLookups = new SessionLookupRepository(JdbcClient.create(recording(jdbcStatements)));
+        sessionLookups.findByToken("token");
+        sessionLookups.findInactiveTokensExpiringAfter(now);
+
+        AuthorizationLookupRepository authorizationLookups =
+                new AuthorizationLookupRepository(JdbcClient.create(recording(jdbcStatements)));
+        authorizationLookups.findRoleNamesByUserId(1L);
+        authorizationLookups.findRolesByUserIds(List.of(1L, 2L));
+        authorizationLookups.findPermissionNamesByRoleIds(List.of(1L, 2L));
+
+        UserExportRepository userExports = new UserExportRepository(recording(fullReads), 500);
+        userExports.forEach(null, null, user -> {
+        });
+        assertEquals(5, jdbcStatements.size(), "Expected the JDBC lookups to be captured");
+        assertEquals(1, fullReads.size(), "Expected the export query to be captured");
+
+        sessionRepository.findBySessionToken("token");
+        sessionRepository.findByUserIdAndActiveTrue(1L);
+        sessionRepository.deactivateByUserId(-1L);
+        sessionRepository.deactivate(-1L);
+        sessionRepository.deleteByUserId(-1L);
+
+        temporaryAccessRepository.findByUserIdAndRevokedFalse(1L);
+        temporaryAccessRepository.findByUserIdAndResourceIdAndRevokedFalse(1L, "doc-1");
+        temporaryAccessRepository.findByStatus(AccessStatus.PENDING);
+        temporaryAccessRepository.findFirstByUserIdAndResourceIdAndRevokedFalseAndStatusAndExpiresAtAfter(
+                1L, "doc-1", AccessStatus.APPROVED, now);
+        temporaryAccessRepository.findActiveResourceIds(1L, AccessStatus.APPROVED, now);
+        temporaryAccessRepository.findScheduledExpiries(AccessStatus.APPROVED);
+        temporaryAccessRepository.expireApproved(List.of(-1L), AccessStatus.APPROVED, AccessStatus.EXPIRED);
+        temporaryAccessRepository.revokeExpired(now.minusYears(10), AccessStatus.APPROVED, AccessStatus.EXPIRED);
+
+        verificationCodeRepository.findFirstByUserIdAndTypeAndUsedFalseOrderByIdDesc(
+                1L, VerificationCode.CodeType.TWO_FACTOR);
+        verificationCodeRepository.supersede(-1L, VerificationCode.CodeType.TWO_FACTOR);
+
+        outboxMessageRepository.claimBatch("token", now, now, 10);
+        outboxMessageRepository.findByClaimTokenAndStatus("token", OutboxMessage.Status.PENDING);
+        outboxMessageRepository.complete(List.of(-1L), OutboxMessage.Status.SENT, now);
+        outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING);
+
+        List<String> statements;
+        synchronized (STATEMENTS) {
+            statements = new ArrayList<>(STATEMENTS);
+        }
+        statements.addAll(jdbcStatements);
+        List<String> scans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements) {
+                if (!sql.stripLeading().toLowerCase().matches("^(select|update|delete)\\b[\\s\\S]*")) {
+                    continue;
+                }
+                String plan = explain(connection, sql);
+                if (count(ACCESS, plan) == 0 || count(SEEK, plan) != count(ACCESS, plan)) {
+                    scans.add(plan);
+                }
+            }
+            for (String sql : fullReads) {
+                String plan = explain(connection, sql);
+                if (!plan.contains("/* PUBLIC.PRIMARY_KEY") || !plan.contains("/* index sorted */")) {
+                    scans.add(plan);
+                }
+            }
+        }
+
+        assertTrue(statements.size() >= 31, "Expected the repository queries to be captured");
+        assertTrue(scans.isEmpty(), "Queries without an index seek:\n" + String.join("\n\n", scans));
+    }
+
+    private static long count(Pattern pattern, String plan) {
+        return pattern.matcher(plan).results().count();
+    }
+
+    /**
+     * The application's data source, recording the SQL of every statement prepared through it
+     */
+    private DataSource recording(List<String> into) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(super.getConnection(), into);
+            }
+        };
+    }
+
+    private static Connection recording(Connection connection, List<String> into) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                        into.add(sql);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private String explain(Connection connection, String sql) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+}
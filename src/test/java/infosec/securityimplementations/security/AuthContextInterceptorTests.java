@@ -0,0 +1,109 @@
+package infosec.securityimplementations.security;
+
+import infosec.securityimplementations.controller.AuthController;
+import infosec.securityimplementations.controller.ReportController;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.service.SessionService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:auth-context-tests")
+class AuthContextInterceptorTests {
+
+    @Autowired
+    private AuthContextInterceptor interceptor;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportController reportController;
+
+    @Autowired
+    private AuthController authController;
+
+    private final AuthContextArgumentResolver resolver = new AuthContextArgumentResolver();
+
+    @Test
+    void validSessionResolvesOneContextPerRequest() throws Exception {
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        MockHttpServletRequest request = requestWithSession(sessionService.createSession(adminId));
+        HandlerMethod handler = statsHandler();
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+
+        AuthContext first = resolve(request, handler);
+        AuthContext second = resolve(request, handler);
+        assertSame(first, second);
+        assertEquals(adminId, first.userId());
+        assertTrue(first.hasRole("ADMIN"));
+    }
+
+    @Test
+    void handlersWithoutContextSkipTheLookup() throws Exception {
+        MockHttpServletRequest request = requestWithSession("not-a-session");
+        HandlerMethod handler = new HandlerMethod(authController,
+                AuthController.class.getMethod("getCurrentUser", String.class));
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+
+        assertNull(request.getAttribute(AuthContextInterceptor.CONTEXT_ATTRIBUTE));
+        assertNull(request.getAttribute(AuthContextInterceptor.FAILURE_ATTRIBUTE));
+    }
+
+    @Test
+    void missingCookieIsRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/stats");
+        HandlerMethod handler = statsHandler();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+
+        AuthenticationRequiredException e = assertThrows(AuthenticationRequiredException.class,
+                () -> resolve(request, handler));
+        assertEquals("Not authenticated", e.getMessage());
+    }
+
+    @Test
+    void unknownAndLoggedOutSessionsAreRejected() throws Exception {
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        String token = sessionService.createSession(userId);
+        sessionService.invalidateSession(token);
+        HandlerMethod handler = statsHandler();
+
+        for (String sessionToken : new String[]{"not-a-session", token}) {
+            MockHttpServletRequest request = requestWithSession(sessionToken);
+            interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+
+            AuthenticationRequiredException e = assertThrows(AuthenticationRequiredException.class,
+                    () -> resolve(request, handler));
+            assertEquals("Invalid session", e.getMessage());
+        }
+    }
+
+    private HandlerMethod statsHandler() throws NoSuchMethodException {
+        return new HandlerMethod(reportController, ReportController.class.getMethod("getStats", AuthContext.class));
+    }
+
+    private AuthContext resolve(MockHttpServletRequest request, HandlerMethod handler) {
+        MethodParameter parameter = handler.getMethodParameters()[0];
+        return (AuthContext) resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+    }
+
+    private static MockHttpServletRequest requestWithSession(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/stats");
+        request.setCookies(new Cookie(AuthContextInterceptor.SESSION_COOKIE, token));
+        return request;
+    }
+}
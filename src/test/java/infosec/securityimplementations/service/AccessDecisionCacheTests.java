@@ -0,0 +1,105 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessDecisionCacheTests {
+
+    private final AccessDecisionCache cache = new AccessDecisionCache(60, 100, 100);
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return new AccessDecisionCache.Decision(true, cache.defaultValidUntil());
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> {
+                    loads.incrementAndGet();
+                    return new AccessDecisionCache.Decision(false, cache.defaultValidUntil());
+                })));
+            }
+            // Let the waiters reach the pending load before it completes
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void userScopedChangeEvictsOnlyThatUser() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, true));
+        cache.get(2L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, true));
+
+        cache.onAuthorizationChanged(AuthorizationChangedEvent.forUser(1L));
+
+        assertFalse(cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, false)));
+        assertTrue(cache.get(2L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, false)));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void globalChangeEvictsEveryUser() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, true));
+        cache.get(2L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, true));
+
+        cache.onAuthorizationChanged(AuthorizationChangedEvent.global());
+
+        assertFalse(cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, false)));
+        assertFalse(cache.get(2L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, false)));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void decisionIsNotReusedPastItsValidity() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, "DOCUMENT", "READ", "doc-1",
+                () -> new AccessDecisionCache.Decision(true, System.nanoTime() - 1));
+
+        assertFalse(cache.get(1L, "DOCUMENT", "READ", "doc-1", () -> decide(loads, false)));
+        assertEquals(1, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AccessDecisionCache.Decision decide(AtomicInteger loads, boolean allowed) {
+        loads.incrementAndGet();
+        return new AccessDecisionCache.Decision(allowed, cache.defaultValidUntil());
+    }
+}
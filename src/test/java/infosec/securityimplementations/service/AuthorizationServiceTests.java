@@ -0,0 +1,128 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.dto.AccessCheck;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.security.AuthContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:authorization-tests",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AuthorizationServiceTests {
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private AuthorizationIndexHolder authorizationIndexHolder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long adminId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        authorizationIndexHolder.get();
+        statistics.clear();
+    }
+
+    @Test
+    void compiledChecksRunNoStatements() {
+        assertTrue(authorizationService.hasResourcePermission(adminId, "DOCUMENT", "READ"));
+        assertTrue(authorizationService.hasPermission(adminId, "ASSIGN_ROLES"));
+        assertFalse(authorizationService.hasPermission(adminId, "UNKNOWN_PERMISSION"));
+        assertTrue(authorizationService.hasRole(adminId, "ADMIN"));
+        assertTrue(authorizationService.hasOrganizationalRoleLevel(adminId, "MANAGER"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void versionBumpRecompilesWithFixedStatementCount() {
+        // The index is read over plain JDBC, so count executions on the H2 side
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        long before = executedStatements();
+
+        eventPublisher.publishEvent(AuthorizationChangedEvent.global());
+        assertTrue(authorizationService.hasRole(adminId, "ADMIN"));
+
+        // roles, permissions, role_permissions and user_roles
+        assertEquals(4, executedStatements() - before);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+
+    private long executedStatements() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(EXECUTION_COUNT), 0) " +
+                "FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE SQL_STATEMENT LIKE 'SELECT %' AND SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%'", Long.class);
+    }
+
+    @Test
+    void roleChangeIsVisibleToCachedDecisionsAfterCommit() {
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        AuthContext admin = authorizationService.buildContext(adminId);
+        assertFalse(authorizationService.canAccess(userId, "DOCUMENT", "READ", "doc-1"));
+        long builtVersion = (long) authorizationService.getIndexStats().get("builtVersion");
+
+        assertTrue(roleService.assignRole(userId, "DOCUMENT_VIEWER", admin).success());
+        assertTrue(authorizationService.canAccess(userId, "DOCUMENT", "READ", "doc-1"));
+        assertTrue((long) authorizationService.getIndexStats().get("builtVersion") > builtVersion);
+
+        assertTrue(roleService.revokeRole(userId, "DOCUMENT_VIEWER", admin).success());
+        assertFalse(authorizationService.canAccess(userId, "DOCUMENT", "READ", "doc-1"));
+    }
+
+    @Test
+    void userPermissionsResolveInSingleStatement() {
+        assertEquals(5, authorizationService.getUserPermissions(adminId).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userRolesResolveInSingleStatement() {
+        assertEquals(1, authorizationService.getUserRoles(adminId).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchChecksLoadGrantsInSingleStatement() {
+        List<AccessCheck> checks = List.of(
+                new AccessCheck("DOCUMENT", "READ", "doc-1"),
+                new AccessCheck("REPORT", "EXPORT", "report-1"),
+                new AccessCheck("INVOICE", "DELETE", "invoice-1"));
+
+        assertEquals(List.of(true, false, false), authorizationService.canAccessAll(adminId, checks));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
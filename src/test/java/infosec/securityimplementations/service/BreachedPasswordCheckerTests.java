@@ -0,0 +1,70 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BreachedPasswordCheckerTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsEveryCorpusPasswordAndNothingElse() throws IOException {
+        List<String> passwords = IntStream.range(0, 5000).mapToObj(i -> "password" + i).toList();
+        Path corpus = writeCorpus(passwords);
+
+        BreachedPasswordChecker checker = new BreachedPasswordChecker(corpus.toString(), 10, DataSize.ofMegabytes(64));
+        checker.load();
+
+        passwords.forEach(password -> assertTrue(checker.isBreached(password), password));
+        assertFalse(checker.isBreached("Correct-Horse-Battery-Staple-42"));
+        assertFalse(checker.isBreached("password5000"));
+    }
+
+    @Test
+    void filterCappedBelowItsSizeStillFindsEveryCorpusPassword() throws IOException {
+        List<String> passwords = IntStream.range(0, 5000).mapToObj(i -> "password" + i).toList();
+        Path corpus = writeCorpus(passwords);
+
+        // 10 bits per entry would need about 6 KiB
+        BreachedPasswordChecker checker = new BreachedPasswordChecker(corpus.toString(), 10, DataSize.ofBytes(512));
+        checker.load();
+
+        assertEquals(512L, checker.getStats().get("bloomBytes"));
+        passwords.forEach(password -> assertTrue(checker.isBreached(password), password));
+        assertFalse(checker.isBreached("Correct-Horse-Battery-Staple-42"));
+    }
+
+    @Test
+    void disabledWithoutCorpus() {
+        BreachedPasswordChecker checker = new BreachedPasswordChecker("", 10, DataSize.ofMegabytes(64));
+        checker.load();
+
+        assertFalse(checker.isEnabled());
+        assertFalse(checker.isBreached("password"));
+    }
+
+    private Path writeCorpus(List<String> passwords) throws IOException {
+        byte[][] digests = passwords.stream().map(BreachedPasswordChecker::sha1).toArray(byte[][]::new);
+        Arrays.sort(digests, Arrays::compareUnsigned);
+
+        ByteBuffer buffer = ByteBuffer.allocate(digests.length * BreachedPasswordChecker.RECORD_SIZE);
+        for (byte[] digest : digests) {
+            buffer.put(digest);
+        }
+        return Files.write(tempDir.resolve("breached.sha1"), buffer.array());
+    }
+}
@@ -0,0 +1,143 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.AccessStatus;
+import infosec.securityimplementations.entity.Permission;
+import infosec.securityimplementations.entity.TemporaryAccess;
+import infosec.securityimplementations.entity.UserRole;
+import infosec.securityimplementations.repository.PermissionRepository;
+import infosec.securityimplementations.repository.RoleRepository;
+import infosec.securityimplementations.repository.TemporaryAccessRepository;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.repository.UserRoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk writes must reach the database as JDBC batches: with sequence ids and
+ * hibernate.jdbc.batch_size=50, N inserts cost about N/50 insert statements plus
+ * N/50 sequence calls, where IDENTITY ids needed one statement per row.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-write-tests",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jit.access.expiry.sweep-ms=3600000"
+})
+class BulkWriteBatchingTests {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TemporaryAccessRepository temporaryAccessRepository;
+
+    @Autowired
+    private JitAccessService jitAccessService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void seedingInsertsInBatches() {
+        List<Permission> permissions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            permissions.add(Permission.builder()
+                    .name("SEED_" + i)
+                    .resource("seed")
+                    .action("READ")
+                    .build());
+        }
+
+        long statements = countStatements(() -> permissionRepository.saveAll(permissions));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertBatched(statements);
+    }
+
+    @Test
+    void bulkImportInsertsInBatches() {
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        Long roleId = roleRepository.findByName("DOCUMENT_VIEWER").orElseThrow().getId();
+        List<UserRole> assignments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            assignments.add(UserRole.builder().userId(userId).roleId(roleId).build());
+        }
+
+        long statements = countStatements(() -> userRoleRepository.saveAll(assignments));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertBatched(statements);
+        userRoleRepository.deleteAllInBatch(assignments);
+    }
+
+    @Test
+    void cleanupRevokesInOneStatement() {
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        LocalDateTime past = LocalDateTime.now().minusMinutes(5);
+        List<TemporaryAccess> grants = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            grants.add(TemporaryAccess.builder()
+                    .userId(userId)
+                    .resourceId("bulk-" + i)
+                    .resourceType("DOCUMENT")
+                    .durationMinutes(1)
+                    .status(AccessStatus.APPROVED)
+                    .grantedAt(past.minusMinutes(1))
+                    .expiresAt(past)
+                    .revoked(false)
+                    .build());
+        }
+        assertBatched(countStatements(() -> temporaryAccessRepository.saveAll(grants)));
+
+        long statements = countStatements(jitAccessService::cleanupExpiredAccess);
+
+        assertEquals(1, statements);
+        assertTrue(temporaryAccessRepository.findByUserIdAndRevokedFalse(userId).stream()
+                .noneMatch(access -> access.getResourceId().startsWith("bulk-")));
+    }
+
+    private long countStatements(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * One insert and one sequence call per batch, with a little slack for lookups
+     */
+    private void assertBatched(long statements) {
+        long batches = (ROWS + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertTrue(statements <= 2 * batches + 2,
+                "Expected about " + 2 * batches + " statements for " + ROWS + " rows, got " + statements);
+    }
+}
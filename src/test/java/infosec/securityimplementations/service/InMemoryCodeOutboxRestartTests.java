@@ -0,0 +1,71 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.OutboxMessage;
+import infosec.securityimplementations.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * With the default in-memory code store, a restart loses every outstanding code. Outbox rows
+ * orphaned by the previous process must not be mailed, since their codes cannot verify.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:in-memory-code-outbox-tests",
+        "outbox.relay.poll-ms=3600000"
+})
+class InMemoryCodeOutboxRestartTests {
+
+    @Autowired
+    private MailOutbox mailOutbox;
+
+    @Autowired
+    private VerificationCodeStore verificationCodeStore;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void relayDropsMailForCodesIssuedBeforeRestart() throws InterruptedException {
+        assertInstanceOf(InMemoryVerificationCodeStore.class, verificationCodeStore);
+        OutboxMessage beforeRestart = orphan("before-restart@example.com", "111111");
+        OutboxMessage afterRestart = orphan("after-restart@example.com", "222222");
+        // Written by the previous process, before this store existed
+        jdbcTemplate.update("UPDATE outbox_messages SET created_at = ? WHERE id = ?",
+                verificationCodeStore.heldSince().orElseThrow().minusMinutes(1), beforeRestart.getId());
+
+        mailOutbox.relay();
+
+        assertEquals(OutboxMessage.Status.FAILED, statusOf(beforeRestart));
+        assertEquals("", outboxMessageRepository.findById(beforeRestart.getId()).orElseThrow().getPayload());
+        for (int i = 0; i < 100 && statusOf(afterRestart) == OutboxMessage.Status.PENDING; i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(OutboxMessage.Status.SENT, statusOf(afterRestart));
+        assertEquals(1L, mailOutbox.getStats().get("discarded"));
+    }
+
+    private OutboxMessage orphan(String recipient, String code) {
+        return outboxMessageRepository.save(OutboxMessage.builder()
+                .recipient(recipient)
+                .payload(code)
+                .purpose("TEST")
+                .claimToken("dead-node")
+                .claimedUntil(LocalDateTime.now().minusSeconds(1))
+                .build());
+    }
+
+    private OutboxMessage.Status statusOf(OutboxMessage message) {
+        return outboxMessageRepository.findById(message.getId()).orElseThrow().getStatus();
+    }
+}
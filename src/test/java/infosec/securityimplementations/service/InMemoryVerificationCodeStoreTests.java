@@ -0,0 +1,43 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.VerificationCode.CodeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryVerificationCodeStoreTests {
+
+    private final InMemoryVerificationCodeStore store = new InMemoryVerificationCodeStore(3);
+
+    @Test
+    void newCodeSupersedesOlderOneAndIsSingleUse() {
+        store.store(1L, CodeType.TWO_FACTOR, "111111", LocalDateTime.now().plusMinutes(10));
+        store.store(1L, CodeType.TWO_FACTOR, "222222", LocalDateTime.now().plusMinutes(10));
+
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "111111"));
+        assertTrue(store.verify(1L, CodeType.TWO_FACTOR, "222222"));
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "222222"));
+    }
+
+    @Test
+    void tooManyFailedAttemptsBurnTheCode() {
+        store.store(1L, CodeType.TWO_FACTOR, "333333", LocalDateTime.now().plusMinutes(10));
+
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "000000"));
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "000001"));
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "000002"));
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "333333"));
+    }
+
+    @Test
+    void expiredCodesAreRejectedAndTypesAreIndependent() {
+        store.store(1L, CodeType.TWO_FACTOR, "444444", LocalDateTime.now().minusSeconds(1));
+        store.store(1L, CodeType.EMAIL_VERIFICATION, "444444", LocalDateTime.now().plusMinutes(10));
+
+        assertFalse(store.verify(1L, CodeType.TWO_FACTOR, "444444"));
+        assertTrue(store.verify(1L, CodeType.EMAIL_VERIFICATION, "444444"));
+    }
+}
@@ -0,0 +1,106 @@
+package infosec.securityimplementations.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests: records every message it accepts and
+ * refuses recipients registered with {@link #reject(String)}
+ */
+class LocalSmtpServer implements AutoCloseable {
+
+    record Received(String recipient, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final List<Received> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    LocalSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0);
+        acceptor = new Thread(this::accept, "local-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Received> messages() {
+        return messages;
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    void reject(String recipient) {
+        rejected.add(recipient);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                converse(socket);
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        reply(out, "220 localhost ESMTP");
+
+        String recipient = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(out, "250 localhost");
+            } else if (command.startsWith("RCPT TO:")) {
+                recipient = line.substring(8).replaceAll("[<>\\s]", "");
+                reply(out, rejected.contains(recipient) ? "550 No such user" : "250 OK");
+            } else if (command.startsWith("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line).append('\n');
+                }
+                messages.add(new Received(recipient, data.toString()));
+                reply(out, "250 OK");
+            } else if (command.startsWith("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                // MAIL FROM, RSET, NOOP
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,94 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDispatcherTests {
+
+    private final List<MailMessage> delivered = new CopyOnWriteArrayList<>();
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deliversOnlyAfterCommit() throws InterruptedException {
+        dispatcher = new MailDispatcher(delivered::addAll, event -> {
+        }, 1, 10, 10, 3, 10, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        dispatcher.enqueue(new MailMessage(null, "a@example.com", "123456", "TEST"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertTrue(delivered.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        awaitDelivered(1);
+        assertEquals("123456", delivered.get(0).code());
+    }
+
+    @Test
+    void retriesFailedBatchesWithBackoff() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        dispatcher = new MailDispatcher(batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("connection refused");
+            }
+            delivered.addAll(batch);
+        }, event -> {
+        }, 1, 10, 10, 5, 10, true);
+
+        dispatcher.enqueue(new MailMessage(null, "a@example.com", "123456", "TEST"));
+        awaitDelivered(1);
+        assertEquals(3, attempts.get());
+        assertEquals(2L, dispatcher.getStats().get("retries"));
+    }
+
+    @Test
+    void retriesOnlyMessagesTheTransportReportsAsFailed() throws Exception {
+        MailMessage first = new MailMessage(null, "a@example.com", "111111", "TEST");
+        MailMessage second = new MailMessage(null, "b@example.com", "222222", "TEST");
+        List<List<MailMessage>> sends = new CopyOnWriteArrayList<>();
+        AtomicInteger refusals = new AtomicInteger();
+        dispatcher = new MailDispatcher(batch -> {
+            sends.add(List.copyOf(batch));
+            if (batch.contains(second) && refusals.getAndIncrement() == 0) {
+                batch.stream().filter(message -> message != second).forEach(delivered::add);
+                throw new PartialDeliveryException(List.of(second), new IllegalStateException("550 No such user"));
+            }
+            delivered.addAll(batch);
+        }, event -> {
+        }, 1, 10, 10, 5, 10, false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dispatcher.enqueue(first);
+        dispatcher.enqueue(second);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        awaitDelivered(2);
+        assertEquals(1, sends.stream().filter(batch -> batch.contains(first)).count());
+        assertEquals(List.of(second), sends.get(sends.size() - 1));
+        assertEquals(2L, dispatcher.getStats().get("sent"));
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && delivered.size() < count; i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(count, delivered.size());
+    }
+}
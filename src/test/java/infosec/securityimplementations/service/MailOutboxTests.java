@@ -0,0 +1,83 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.OutboxMessage;
+import infosec.securityimplementations.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-tests",
+        "outbox.relay.poll-ms=3600000"
+})
+class MailOutboxTests {
+
+    @Autowired
+    private MailOutbox mailOutbox;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    void messageIsWrittenAndSentOnlyWhenTransactionCommits() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            mailOutbox.publish("rolled-back@example.com", "111111", "TEST");
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                mailOutbox.publish("committed@example.com", "222222", "TEST"));
+
+        awaitBacklog(0);
+        assertEquals(1, outboxMessageRepository.count());
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxMessage.Status.SENT));
+        assertEquals("", outboxMessageRepository.findAll().get(0).getPayload(), "code must not outlive delivery");
+    }
+
+    @Test
+    void relayReclaimsMessagesWithLapsedClaims() throws InterruptedException {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .recipient("orphan@example.com")
+                .payload("333333")
+                .purpose("TEST")
+                .claimToken("dead-node")
+                .claimedUntil(LocalDateTime.now().minusSeconds(1))
+                .build());
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .recipient("in-flight@example.com")
+                .payload("444444")
+                .purpose("TEST")
+                .status(OutboxMessage.Status.PENDING)
+                .claimToken("live-node")
+                .claimedUntil(LocalDateTime.now().plusMinutes(5))
+                .build());
+
+        mailOutbox.relay();
+
+        awaitBacklog(1);
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxMessage.Status.SENT));
+        assertEquals(1, outboxMessageRepository.findByClaimTokenAndStatus(
+                "live-node", OutboxMessage.Status.PENDING).size());
+    }
+
+    private void awaitBacklog(long expected) throws InterruptedException {
+        for (int i = 0; i < 100 && outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING) != expected; i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(expected, outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING));
+    }
+}
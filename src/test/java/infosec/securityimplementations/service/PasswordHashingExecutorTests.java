@@ -0,0 +1,82 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTests {
+
+    // One hashing thread, one waiting caller, 200 ms to get a slot
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 200, 3);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void admittedHashRunsPastMaxWait() {
+        String result = executor.execute(() -> {
+            Thread.sleep(500);
+            return "hash";
+        });
+
+        assertEquals("hash", result);
+        assertEquals(0L, executor.getStats().get("timedOut"));
+    }
+
+    @Test
+    void callerIsRefusedWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+        awaitQueueDepth(1);
+
+        HashingCapacityExceededException e = assertThrows(HashingCapacityExceededException.class,
+                () -> executor.execute(() -> "third"));
+        assertEquals(3, e.getRetryAfterSeconds());
+        assertEquals(1L, executor.getStats().get("rejected"));
+
+        release.countDown();
+        assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+        assertEquals("second", waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void callerTimesOutWaitingForASlot() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertThrows(HashingCapacityExceededException.class, () -> executor.execute(() -> "second"));
+        assertEquals(1L, executor.getStats().get("timedOut"));
+
+        release.countDown();
+        assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(depth).equals(executor.getStats().get("queueDepth"))) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached " + depth);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordServiceTests {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 4, 5000, 1);
+    private final BreachedPasswordChecker noBreachCheck = new BreachedPasswordChecker("", 10, DataSize.ofMegabytes(64));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void weakerBcryptHashNeedsRehash() {
+        PasswordService passwordService = new PasswordService(executor, noBreachCheck, "bcrypt", 0);
+        String weak = new BCryptPasswordHasher(BCryptPasswordHasher.MIN_STRENGTH).hash("Secret123");
+        String current = passwordService.hashPassword("Secret123");
+
+        assertTrue(passwordService.verifyPassword("Secret123", weak));
+        assertTrue(passwordService.needsRehash(weak));
+        assertFalse(passwordService.needsRehash(current));
+    }
+
+    @Test
+    void calibrationNeverGoesBelowDefaultBcryptCost() {
+        // Any cost meets a 1 ms target, so calibration stops at its starting point
+        PasswordService calibrated = new PasswordService(executor, noBreachCheck, "bcrypt", 1);
+        String baseline = new BCryptPasswordHasher(BCryptPasswordHasher.DEFAULT_STRENGTH).hash("Secret123");
+
+        assertEquals("strength=" + BCryptPasswordHasher.DEFAULT_STRENGTH,
+                calibrated.getHashingStats().get("parameters"));
+        assertFalse(calibrated.needsRehash(baseline));
+    }
+
+    @Test
+    void hashesFromOtherSchemesVerifyAndGetUpgraded() {
+        PasswordService bcrypt = new PasswordService(executor, noBreachCheck, "bcrypt", 0);
+        PasswordService pbkdf2 = new PasswordService(executor, noBreachCheck, "pbkdf2", 0);
+        String legacy = bcrypt.hashPassword("Secret123");
+        String upgraded = pbkdf2.hashPassword("Secret123");
+
+        assertTrue(pbkdf2.verifyPassword("Secret123", legacy));
+        assertFalse(pbkdf2.verifyPassword("Wrong123", legacy));
+        assertTrue(pbkdf2.needsRehash(legacy));
+        assertTrue(pbkdf2.verifyPassword("Secret123", upgraded));
+        assertFalse(pbkdf2.needsRehash(upgraded));
+        assertTrue(bcrypt.verifyPassword("Secret123", upgraded));
+    }
+}
@@ -0,0 +1,73 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.Session;
+import infosec.securityimplementations.repository.SessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retention-tests",
+        "retention.batch-size=7",
+        "retention.batch-pause-ms=0",
+        "retention.sessions.hours=1",
+        "retention.archive.enabled=true",
+        "retention.archive.dir=target/retention-archive"
+})
+class RetentionServiceTests {
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Test
+    void purgesExpiredRowsInBatchesAndArchivesThem() throws IOException {
+        Path archive = Path.of("target/retention-archive/sessions-" + LocalDate.now() + ".jsonl.gz");
+        Files.deleteIfExists(archive);
+
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            // Every third session is still inside the retention window
+            LocalDateTime expiresAt = i % 3 == 0
+                    ? LocalDateTime.now().minusMinutes(5)
+                    : LocalDateTime.now().minusDays(2);
+            sessions.add(Session.builder()
+                    .userId(1L)
+                    .sessionToken("retention-" + i)
+                    .expiresAt(expiresAt)
+                    .active(false)
+                    .build());
+        }
+        sessionRepository.saveAll(sessions);
+
+        assertEquals(20, retentionService.purge("sessions"));
+        assertEquals(10, sessionRepository.count());
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(lines::add);
+        }
+        assertEquals(20, lines.size());
+        assertTrue(lines.get(0).contains("\"user_id\":1"));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("session_token") || line.contains("retention-")),
+                "session tokens must not be archived");
+    }
+}
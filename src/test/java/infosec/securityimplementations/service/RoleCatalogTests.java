@@ -0,0 +1,95 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.Permission;
+import infosec.securityimplementations.entity.RolePermission;
+import infosec.securityimplementations.repository.PermissionRepository;
+import infosec.securityimplementations.repository.RolePermissionRepository;
+import infosec.securityimplementations.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:role-catalog-tests",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class RoleCatalogTests {
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        roleCatalog.get();
+        statistics.clear();
+    }
+
+    @Test
+    void unchangedCatalogueIsServedWithoutQueries() {
+        RoleCatalog.Snapshot first = roleCatalog.get();
+        RoleCatalog.Snapshot second = roleCatalog.get();
+
+        assertSame(first, second);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"name\":\"ADMIN\""));
+    }
+
+    @Test
+    void roleAssignmentsLeaveCatalogueInPlace() {
+        RoleCatalog.Snapshot before = roleCatalog.get();
+
+        eventPublisher.publishEvent(AuthorizationChangedEvent.forUser(1L));
+
+        assertSame(before, roleCatalog.get());
+    }
+
+    @Test
+    void permissionMappingChangeRebuildsWithNewEtag() {
+        RoleCatalog.Snapshot before = roleCatalog.get();
+
+        eventPublisher.publishEvent(AuthorizationChangedEvent.global());
+        RoleCatalog.Snapshot rebuilt = roleCatalog.get();
+        assertNotSame(before, rebuilt);
+        assertEquals(before.etag(), rebuilt.etag(), "Same content must keep its ETag");
+
+        Permission permission = permissionRepository.save(Permission.builder()
+                .name("CATALOG_TEST").resource("catalog").action("READ").build());
+        rolePermissionRepository.save(RolePermission.builder()
+                .roleId(roleRepository.findByName("ADMIN").orElseThrow().getId())
+                .permissionId(permission.getId())
+                .build());
+        eventPublisher.publishEvent(AuthorizationChangedEvent.global());
+
+        RoleCatalog.Snapshot changed = roleCatalog.get();
+        assertNotEquals(before.etag(), changed.etag());
+        assertTrue(new String(changed.body(), StandardCharsets.UTF_8).contains("CATALOG_TEST"));
+    }
+}
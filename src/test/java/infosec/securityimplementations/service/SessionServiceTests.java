@@ -0,0 +1,128 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.entity.Session;
+import infosec.securityimplementations.repository.SessionRepository;
+import infosec.securityimplementations.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:session-tests",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SessionServiceTests {
+
+    private static final int SESSIONS = 200;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = userRepository.findByUsername("user").orElseThrow().getId();
+        // Start every test from exactly SESSIONS active sessions, whatever ran before
+        jdbcTemplate.update("DELETE FROM sessions WHERE user_id = ?", userId);
+
+        List<Session> sessions = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.add(Session.builder()
+                    .userId(userId)
+                    .sessionToken(sessionService.generateSessionToken())
+                    .expiresAt(LocalDateTime.now().plusMinutes(30))
+                    .active(true)
+                    .build());
+        }
+        sessionRepository.saveAll(sessions);
+        statistics.clear();
+    }
+
+    @Test
+    void invalidateAllUserSessionsIsSingleStatement() {
+        assertEquals(SESSIONS, sessionService.invalidateAllUserSessions(userId));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createSessionCostDoesNotGrowWithExistingSessions() {
+        String token = sessionService.createSession(userId);
+
+        // bulk deactivate + insert of the new row, plus a sequence call when the id pool runs out
+        assertTrue(statistics.getPrepareStatementCount() <= 3);
+        assertTrue(sessionService.validateSession(token).isPresent());
+        assertEquals(1, sessionRepository.findByUserIdAndActiveTrue(userId).size());
+    }
+
+    @Test
+    void newSessionValidatesFromCacheWithoutTheRow() {
+        String token = sessionService.createSession(userId);
+
+        // The row is gone, so only the warmed cache can still answer
+        jdbcTemplate.update("DELETE FROM sessions WHERE session_token = ?", token);
+
+        assertEquals(userId, sessionService.validateSession(token).orElseThrow());
+    }
+
+    @Test
+    void logoutEvictsCachedSession() {
+        String token = sessionService.createSession(userId);
+        assertTrue(sessionService.validateSession(token).isPresent());
+
+        sessionService.invalidateSession(token);
+
+        assertFalse(sessionService.validateSession(token).isPresent());
+    }
+
+    @Test
+    void invalidatingAllUserSessionsEvictsCachedSessions() {
+        String token = sessionService.createSession(userId);
+        assertTrue(sessionService.validateSession(token).isPresent());
+
+        sessionService.invalidateAllUserSessions(userId);
+
+        assertFalse(sessionService.validateSession(token).isPresent());
+    }
+
+    @Test
+    void expiredSessionIsRejectedAndDeactivated() {
+        String token = sessionService.generateSessionToken();
+        sessionRepository.save(Session.builder()
+                .userId(userId)
+                .sessionToken(token)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .active(true)
+                .build());
+
+        assertFalse(sessionService.validateSession(token).isPresent());
+        assertFalse(sessionRepository.findBySessionToken(token).orElseThrow().getActive());
+    }
+}
@@ -0,0 +1,115 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:signed-session-tests",
+        "session.token.mode=signed",
+        "session.token.signing-key=" + SignedSessionTokenTests.SIGNING_KEY
+})
+class SignedSessionTokenTests {
+
+    static final String SIGNING_KEY = "c2lnbmVkLXNlc3Npb24tdG9rZW4tdGVzdHMta2V5LTEyMzQ1Njc4";
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionTokenSigner sessionTokenSigner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.findByUsername("user").orElseThrow().getId();
+    }
+
+    @Test
+    void signedTokenValidatesWithoutTheSessionRow() {
+        String token = sessionService.createSession(userId);
+        assertTrue(sessionTokenSigner.isSigned(token));
+
+        jdbcTemplate.update("DELETE FROM sessions WHERE session_token = ?", token);
+
+        assertEquals(userId, sessionService.validateSession(token).orElseThrow());
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String token = sessionService.createSession(userId);
+        int separator = token.lastIndexOf('.');
+        String body = token.substring(0, separator);
+        String signature = token.substring(separator + 1);
+
+        SessionTokenSigner.SignedToken claims = sessionTokenSigner.verify(token);
+        SessionTokenSigner.SignedToken otherUser = new SessionTokenSigner.SignedToken(
+                claims.sessionId(), claims.userId() + 1, claims.issuedAt(), claims.expiresAt());
+        String forgedBody = sessionTokenSigner.sign(otherUser);
+        String swappedClaims = forgedBody.substring(0, forgedBody.lastIndexOf('.')) + "." + signature;
+
+        assertTrue(sessionService.validateSession(swappedClaims).isEmpty());
+        assertTrue(sessionService.validateSession(body + "." + flipFirstChar(signature)).isEmpty());
+        assertTrue(sessionService.validateSession(body + ".").isEmpty());
+        assertTrue(sessionService.validateSession(body).isEmpty());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String otherKey = Base64.getEncoder().encodeToString(new byte[32]);
+        long now = System.currentTimeMillis();
+        String foreign = new SessionTokenSigner(otherKey).sign(
+                new SessionTokenSigner.SignedToken(1L, userId, now, now + 60_000));
+
+        assertTrue(sessionService.validateSession(foreign).isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        long now = System.currentTimeMillis();
+        String expired = sessionTokenSigner.sign(
+                new SessionTokenSigner.SignedToken(2L, userId, now - 120_000, now - 60_000));
+
+        assertTrue(sessionService.validateSession(expired).isEmpty());
+    }
+
+    @Test
+    void logoutRevokesToken() {
+        String token = sessionService.createSession(userId);
+        assertTrue(sessionService.validateSession(token).isPresent());
+
+        sessionService.invalidateSession(token);
+
+        assertTrue(sessionService.validateSession(token).isEmpty());
+    }
+
+    @Test
+    void newSessionRevokesOlderTokens() throws InterruptedException {
+        String first = sessionService.createSession(userId);
+        // Tokens are revoked by issue time in milliseconds
+        Thread.sleep(2);
+        String second = sessionService.createSession(userId);
+
+        assertTrue(sessionService.validateSession(first).isEmpty());
+        assertEquals(userId, sessionService.validateSession(second).orElseThrow());
+    }
+
+    private static String flipFirstChar(String value) {
+        char replacement = value.charAt(0) == 'A' ? 'B' : 'A';
+        return replacement + value.substring(1);
+    }
+}
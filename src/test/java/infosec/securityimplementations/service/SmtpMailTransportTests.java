@@ -0,0 +1,58 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmtpMailTransportTests {
+
+    @Test
+    void sendsWholeBatchOverOneConnection() throws Exception {
+        try (LocalSmtpServer server = new LocalSmtpServer()) {
+            SmtpMailTransport transport = transport(server);
+
+            transport.send(List.of(
+                    new MailMessage(null, "a@example.com", "111111", "TWO-FACTOR AUTHENTICATION"),
+                    new MailMessage(null, "b@example.com", "222222", "TWO-FACTOR AUTHENTICATION"),
+                    new MailMessage(null, "c@example.com", "333333", "EMAIL VERIFICATION")));
+
+            assertEquals(1, server.connections());
+            assertEquals(3, server.messages().size());
+            assertEquals("b@example.com", server.messages().get(1).recipient());
+            assertTrue(server.messages().get(1).data().contains("222222"));
+        }
+    }
+
+    @Test
+    void reportsOnlyRefusedMessagesAsFailed() throws Exception {
+        try (LocalSmtpServer server = new LocalSmtpServer()) {
+            server.reject("b@example.com");
+            MailMessage refused = new MailMessage(null, "b@example.com", "222222", "EMAIL VERIFICATION");
+            List<MailMessage> batch = List.of(
+                    new MailMessage(null, "a@example.com", "111111", "EMAIL VERIFICATION"),
+                    refused,
+                    new MailMessage(null, "c@example.com", "333333", "EMAIL VERIFICATION"));
+
+            PartialDeliveryException e = assertThrows(PartialDeliveryException.class,
+                    () -> transport(server).send(batch));
+
+            assertEquals(1, e.getFailedMessages().size());
+            assertSame(refused, e.getFailedMessages().get(0));
+            assertEquals(List.of("a@example.com", "c@example.com"),
+                    server.messages().stream().map(LocalSmtpServer.Received::recipient).toList());
+        }
+    }
+
+    private static SmtpMailTransport transport(LocalSmtpServer server) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.port());
+        return new SmtpMailTransport(mailSender, "no-reply@localhost");
+    }
+}
@@ -0,0 +1,42 @@
+package infosec.securityimplementations.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTests {
+
+    @Test
+    void firesEachTimerOnItsDeadlineAcrossLevels() {
+        long start = 1_000_003;
+        TimingWheel<Long> wheel = new TimingWheel<>(start);
+        long[] deadlines = {start + 1, start + 63, start + 64, start + 4_095, start + 4_097,
+                start + 300_000, start + 20_000_000, start + 40_000_000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long deadline : deadlines) {
+            List<Long> fired = new ArrayList<>();
+            wheel.advanceTo(deadline - 1, fired);
+            assertTrue(fired.isEmpty(), "fired early before " + deadline);
+            wheel.advanceTo(deadline, fired);
+            assertEquals(List.of(deadline), fired);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void overdueTimersFireOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(50, "overdue");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(101, fired);
+        assertEquals(List.of("overdue"), fired);
+    }
+}
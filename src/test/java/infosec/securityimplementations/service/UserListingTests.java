@@ -0,0 +1,157 @@
+package infosec.securityimplementations.service;
+
+import infosec.securityimplementations.dto.RoleSummary;
+import infosec.securityimplementations.dto.UserPage;
+import infosec.securityimplementations.dto.UserSummary;
+import infosec.securityimplementations.dto.UserWithRoles;
+import infosec.securityimplementations.dto.UserWithRolesPage;
+import infosec.securityimplementations.entity.User;
+import infosec.securityimplementations.entity.UserRole;
+import infosec.securityimplementations.repository.RoleRepository;
+import infosec.securityimplementations.repository.UserRepository;
+import infosec.securityimplementations.repository.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-listing-tests")
+class UserListingTests {
+
+    private static final int USERS = 120;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.count() >= USERS) {
+            return;
+        }
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("listing" + i)
+                    .email("listing" + i + "@example.com")
+                    .passwordHash("not-a-hash")
+                    .emailVerified(i % 2 == 0)
+                    .blocked(i % 3 == 0)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        Long viewerId = roleRepository.findByName("DOCUMENT_VIEWER").orElseThrow().getId();
+        Long editorId = roleRepository.findByName("DOCUMENT_EDITOR").orElseThrow().getId();
+        List<UserRole> assignments = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            assignments.add(UserRole.builder().userId(users.get(i).getId()).roleId(viewerId).build());
+            if (i % 4 == 0) {
+                assignments.add(UserRole.builder().userId(users.get(i).getId()).roleId(editorId).build());
+            }
+        }
+        userRoleRepository.saveAll(assignments);
+    }
+
+    @Test
+    void keysetPagesVisitEveryUserOnce() {
+        Set<Long> seen = new HashSet<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            UserPage page = userService.getUsers(cursor, 50, null, null);
+            for (UserSummary user : page.getUsers()) {
+                assertTrue(seen.add(user.getId()), "User listed twice: " + user.getId());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(userRepository.count(), seen.size());
+        assertTrue(pages >= 3);
+    }
+
+    @Test
+    void filtersApplyToPages() {
+        UserPage page = userService.getUsers(null, 500, true, false);
+
+        assertFalse(page.getUsers().isEmpty());
+        assertTrue(page.getUsers().stream().allMatch(user -> user.getBlocked() && !user.getEmailVerified()));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void usersWithRolesCostThreeStatementsWhateverThePageSize() {
+        long users = userRepository.count();
+        // Roles are read over plain JDBC, so count executions on the H2 side
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+
+        for (int size : new int[]{10, 100, 500}) {
+            long before = executedStatements();
+            UserWithRolesPage page = userService.getUsersWithRoles(null, size, null, null);
+
+            long statements = executedStatements() - before;
+
+            assertEquals(Math.min(size, users), page.getUsers().size());
+            // the page, the users' roles and those roles' permissions
+            assertEquals(3, statements, "Statements for a page of " + size);
+        }
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+
+    @Test
+    void usersWithRolesCarryRoleAndPermissionNames() {
+        UserWithRolesPage page = userService.getUsersWithRoles(null, 500, null, null);
+
+        UserWithRoles editor = page.getUsers().stream()
+                .filter(user -> user.getUser().getUsername().equals("listing0"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("DOCUMENT_VIEWER", "DOCUMENT_EDITOR"),
+                editor.getRoles().stream().map(RoleSummary::getName).sorted(Comparator.reverseOrder()).toList());
+        assertTrue(editor.getRoles().stream().allMatch(role -> !role.getPermissions().isEmpty()));
+        assertTrue(page.getUsers().stream().allMatch(user -> user.getRoles() != null));
+    }
+
+    private long executedStatements() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(EXECUTION_COUNT), 0) " +
+                "FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%' AND (SQL_STATEMENT LIKE '%users%' " +
+                "OR SQL_STATEMENT LIKE '%user_roles%' OR SQL_STATEMENT LIKE '%role_permissions%')", Long.class);
+    }
+
+    @Test
+    void exportWritesOneLinePerUserWithoutHashes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = userService.exportUsers(out, null, null);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(userRepository.count(), written);
+        assertEquals(written, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).lines().noneMatch(line -> line.contains("password")));
+    }
+}